@@ -0,0 +1,54 @@
+package com.erika.minicasino.common;
+
+import com.erika.minicasino.exception.BusinessException;
+
+/**
+ * Either a value or the {@link ErrorCode} explaining why there is none.
+ * <p>
+ * Used on hot paths where a rejection is a routine outcome (insufficient balance,
+ * limits, unknown user), so callers can turn it into a response without an exception
+ * being thrown and caught.
+ */
+public final class ServiceResult<T> {
+    private final T value;
+    private final ErrorCode errorCode;
+    private final String description;
+
+    private ServiceResult(T value, ErrorCode errorCode, String description) {
+        this.value = value;
+        this.errorCode = errorCode;
+        this.description = description;
+    }
+
+    public static <T> ServiceResult<T> ok(T value) {
+        return new ServiceResult<>(value, null, null);
+    }
+
+    public static <T> ServiceResult<T> rejected(ErrorCode errorCode, String description) {
+        return new ServiceResult<>(null, errorCode, description);
+    }
+
+    public boolean isOk() {
+        return errorCode == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /** The value, or a stackless {@link BusinessException} carrying the rejection. */
+    public T orElseThrow() {
+        if (errorCode != null) {
+            throw BusinessException.rejection(errorCode, description);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,100 @@
+package com.erika.minicasino.config;
+
+import com.erika.minicasino.rng.OutcomeRng;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tunables for the casino services, bound from {@code minicasino.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "minicasino")
+public class CasinoProperties {
+    private Bet bet = new Bet();
+    private Registry registry = new Registry();
+    private History history = new History();
+    private Ledger ledger = new Ledger();
+    private BulkImport bulkImport = new BulkImport();
+    private Events events = new Events();
+    private Analytics analytics = new Analytics();
+
+    @Data
+    public static class Bet {
+        /** Simulated time between accepting a bet and settling it. */
+        private long settlementDelayMs = 10000;
+        /** Number of threads settling bets; defaults to the number of cores. */
+        private int settlementThreads = Runtime.getRuntime().availableProcessors();
+        /** Number of threads finishing bets once their ledger entry is durable; defaults to the number of cores. */
+        private int completionThreads = Runtime.getRuntime().availableProcessors();
+        /** How long a settled ticket stays available for polling. */
+        private long ticketRetentionMs = 10 * 60 * 1000;
+        /** Upper bound for a single long-poll on a ticket. */
+        private long maxPollWaitMs = 30000;
+        /** {@code java.util.random} algorithm drawing bet outcomes, one generator per thread. */
+        private String rngAlgorithm = OutcomeRng.DEFAULT_ALGORITHM;
+        /** Seed making every outcome reproducible from its ticket ID; unset for unpredictable draws. */
+        private Long rngSeed;
+    }
+
+    @Data
+    public static class Registry {
+        /** Number of hash shards the user registry is split into. */
+        private int shards = 64;
+        /** Expected number of players; used to pre-size the shards. */
+        private int expectedUsers = 1_000_000;
+    }
+
+    @Data
+    public static class History {
+        /** Number of most recent bets kept in memory per player. */
+        private int retention = 1000;
+        /** Keep bet history in direct buffers outside the Java heap. */
+        private boolean offHeap = false;
+    }
+
+    @Data
+    public static class Ledger {
+        /** Persist wallets and bets to an append-only ledger and replay it on startup. */
+        private boolean enabled = false;
+        /** Directory holding the ledger files. */
+        private String directory = "data";
+        /** Force every group commit to disk before acknowledging it. */
+        private boolean fsync = true;
+        /** Maximum number of entries written by a single group commit. */
+        private int maxBatch = 1024;
+        /** Interval between ledger snapshots in milliseconds; 0 disables them. */
+        private long snapshotIntervalMs = 300_000;
+    }
+
+    @Data
+    public static class BulkImport {
+        /** Rows read, validated and inserted together; bounds the memory an import uses. */
+        private int batchSize = 1000;
+        /** Threads validating and inserting rows; defaults to the number of cores. */
+        private int threads = Runtime.getRuntime().availableProcessors();
+        /** Rejected rows listed in the report; later ones are only counted. */
+        private int maxReportedErrors = 100;
+        /** Longest row accepted, in chars; longer rows are rejected as malformed without being held in memory. */
+        private int maxLineLength = 4096;
+    }
+
+    @Data
+    public static class Events {
+        /** Events buffered per subscriber; when a slow client falls this far behind the oldest are dropped. */
+        private int bufferSize = 256;
+        /** Threads writing buffered events to subscribers. */
+        private int senderThreads = 2;
+        /** Open event streams per player; subscribing beyond this closes the player's oldest stream. */
+        private int maxSubscribersPerUser = 5;
+        /** How long an event stream stays open before the client has to reconnect. */
+        private long timeoutMs = 30 * 60 * 1000;
+    }
+
+    @Data
+    public static class Analytics {
+        /** Sliding window over which each game's observed RTP is compared with its configuration. */
+        private long windowMs = 60 * 60 * 1000;
+        /** Buckets the window is divided into; it advances one bucket at a time. */
+        private int windowBuckets = 60;
+    }
+}
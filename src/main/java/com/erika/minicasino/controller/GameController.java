@@ -3,8 +3,11 @@ package com.erika.minicasino.controller;
 import com.erika.minicasino.common.BaseResponse;
 import com.erika.minicasino.common.ErrorCode;
 import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.model.CatalogDiff;
 import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.GameStats;
 import com.erika.minicasino.service.GameService;
+import com.erika.minicasino.service.GameStatsService;
 import com.erika.minicasino.utils.GameListWrapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,13 +17,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.Unmarshaller;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.List;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/game")
@@ -29,12 +41,26 @@ public class GameController {
     @Autowired
     private GameService gameService;
 
-    @Operation(summary = "Get list of all available games")
-    @ApiResponse(responseCode = "200", description = "List of games returned successfully")
+    @Autowired
+    private GameStatsService gameStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** Serialized responses for one catalog version; replaced when the version changes. */
+    private volatile ResponseCache responseCache = new ResponseCache(-1);
+
+    @Operation(summary = "Get list of all available games",
+            description = "Carries a strong ETag; send it back in If-None-Match to get 304 while the catalog is unchanged")
+    @ApiResponse(responseCode = "200", description = "List of games returned successfully",
+            content = @Content(schema = @Schema(implementation = Game.class)))
     @GetMapping
-    public BaseResponse<List<Game>> listGames() {
-        List<Game> gameList = gameService.getAllGames();
-        return ResultUtils.success(gameList);
+    public ResponseEntity<byte[]> listGames(WebRequest request) throws JsonProcessingException {
+        CachedBody body = currentCache().list;
+        if (body == null) {
+            body = currentCache().cacheList(serialize(gameService.getAllGames()));
+        }
+        return respond(body, request);
     }
 
     @Operation(summary = "Get a specific game by its ID")
@@ -45,9 +71,94 @@ public class GameController {
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public BaseResponse<Game> getGame(@PathVariable Long id) {
-        Game game = gameService.getGameById(id);
-        return ResultUtils.success(game);
+    public ResponseEntity<byte[]> getGame(@PathVariable Long id, WebRequest request) throws JsonProcessingException {
+        ResponseCache cache = currentCache();
+        CachedBody body = cache.games.get(id);
+        if (body == null) {
+            body = cache.cacheGame(id, serialize(gameService.getGameById(id)));
+        }
+        return respond(body, request);
+    }
+
+    @Operation(summary = "Get live RTP, hit rate and liability of a game",
+            description = "Counts bets since startup; the window fields compare recent results with chanceOfWinning x winningMultiplier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats returned",
+                    content = @Content(schema = @Schema(implementation = GameStats.class))),
+            @ApiResponse(responseCode = "40001", description = "Game not found",
+                    content = @Content)
+    })
+    @GetMapping("/{id}/stats")
+    public BaseResponse<GameStats> getGameStats(@PathVariable Long id) {
+        return ResultUtils.success(gameStatsService.getStats(id));
+    }
+
+    /**
+     * The cache for the current catalog version. The version is read before the data, so
+     * a body cached under it is never older than the version it is filed under.
+     */
+    private ResponseCache currentCache() {
+        long version = gameService.getCatalogVersion();
+        ResponseCache cache = responseCache;
+        if (cache.version != version) {
+            cache = new ResponseCache(version);
+            responseCache = cache;
+        }
+        return cache;
+    }
+
+    private CachedBody serialize(Object data) throws JsonProcessingException {
+        return new CachedBody(objectMapper.writeValueAsBytes(ResultUtils.success(data)));
+    }
+
+    private static ResponseEntity<byte[]> respond(CachedBody body, WebRequest request) {
+        if (request.checkNotModified(body.etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(body.etag)
+                .body(body.json);
+    }
+
+    private static final class ResponseCache {
+        final long version;
+        final Map<Long, CachedBody> games = new ConcurrentHashMap<>();
+        volatile CachedBody list;
+
+        ResponseCache(long version) {
+            this.version = version;
+        }
+
+        CachedBody cacheList(CachedBody body) {
+            list = body;
+            return body;
+        }
+
+        CachedBody cacheGame(Long id, CachedBody body) {
+            games.put(id, body);
+            return body;
+        }
+    }
+
+    private static final class CachedBody {
+        final byte[] json;
+        /** Strong ETag derived from the bytes, so it stays valid across restarts. */
+        final String etag;
+
+        CachedBody(byte[] json) {
+            this.json = json;
+            this.etag = "\"" + HexFormat.of().formatHex(sha256(json), 0, 16) + "\"";
+        }
+
+        private static byte[] sha256(byte[] json) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(json);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 
     @Operation(summary = "Add a new game to the list")
@@ -75,4 +186,20 @@ public class GameController {
             return ResultUtils.error(ErrorCode.SYSTEM_ERROR, "Invalid XML file");
         }
     }
+
+    @Operation(summary = "Apply only the differences between an XML game list and the current catalog")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog updated; the response lists what changed"),
+            @ApiResponse(responseCode = "50000", description = "Invalid XML file or server error")
+    })
+    @PostMapping(value = "/upload-xml", params = "mode=diff")
+    public BaseResponse<CatalogDiff> mergeGamesFromXml(@RequestParam("file") MultipartFile file,
+                                                      @RequestParam(defaultValue = "false") boolean removeMissing) {
+        try {
+            CatalogDiff diff = gameService.mergeFromXml(file.getInputStream(), removeMissing);
+            return ResultUtils.success(diff);
+        } catch (IOException e) {
+            return ResultUtils.error(ErrorCode.SYSTEM_ERROR, "Invalid XML file");
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.common.BaseResponse;
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.LeaderboardEntry;
+import com.erika.minicasino.model.LeaderboardMetric;
+import com.erika.minicasino.service.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/leaderboard")
+@Tag(name = "Leaderboard Controller", description = "Top players, kept ranked as bets settle")
+public class LeaderboardController {
+    private static final int MAX_LIMIT = 100;
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Operation(summary = "Get the top players across all games")
+    @ApiResponse(responseCode = "200", description = "Players, best first",
+            content = @Content(schema = @Schema(implementation = LeaderboardEntry.class)))
+    @GetMapping
+    public BaseResponse<List<LeaderboardEntry>> getTop(@Parameter(description = "Ranking (NET_WINNINGS, TOTAL_WAGERED or BIGGEST_WIN)")
+                                                       @RequestParam(defaultValue = "NET_WINNINGS") LeaderboardMetric metric,
+                                                       @Parameter(description = "Players to return, at most " + MAX_LIMIT)
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        checkLimit(limit);
+        return ResultUtils.success(leaderboardService.getTop(metric, limit));
+    }
+
+    @Operation(summary = "Get the top players on one game")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Players, best first",
+                    content = @Content(schema = @Schema(implementation = LeaderboardEntry.class))),
+            @ApiResponse(responseCode = "40001", description = "Game not found",
+                    content = @Content)
+    })
+    @GetMapping("/games/{gameId}")
+    public BaseResponse<List<LeaderboardEntry>> getTopForGame(@PathVariable Long gameId,
+                                                              @Parameter(description = "Ranking (NET_WINNINGS, TOTAL_WAGERED or BIGGEST_WIN)")
+                                                              @RequestParam(defaultValue = "NET_WINNINGS") LeaderboardMetric metric,
+                                                              @Parameter(description = "Players to return, at most " + MAX_LIMIT)
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        checkLimit(limit);
+        return ResultUtils.success(leaderboardService.getTop(metric, gameId, limit));
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.common.BaseResponse;
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.service.GameService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mono/Flux views of the game catalog. Reads come from the immutable catalog snapshot,
+ * so a streamed listing is consistent even if the catalog changes midway.
+ */
+@RestController
+@RequestMapping("/reactive/game")
+@Tag(name = "Reactive Game Controller", description = "Mono/Flux variants of the game operations")
+public class ReactiveGameController {
+    private final GameService gameService;
+
+    public ReactiveGameController(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @Operation(summary = "Stream all games", description = "One game per line, in ID order")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Game> listGames() {
+        return Flux.defer(() -> Flux.fromIterable(gameService.getAllGames()));
+    }
+
+    @Operation(summary = "Get a game by ID")
+    @GetMapping("/{id}")
+    public Mono<BaseResponse<Game>> getGame(@PathVariable long id) {
+        return Mono.fromSupplier(() -> gameService.findGameById(id))
+                .map(ResultUtils::success)
+                .switchIfEmpty(Mono.error(() -> new BusinessException(ErrorCode.NULL_ERROR, "Game with ID " + id + " not found")));
+    }
+}
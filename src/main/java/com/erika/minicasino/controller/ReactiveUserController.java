@@ -0,0 +1,109 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.common.BaseResponse;
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.exception.RejectionLog;
+import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.service.UserService;
+import com.erika.minicasino.store.BetHistoryPage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of the betting endpoints. Nothing here holds a request thread
+ * while a bet waits for its ledger commit or its settlement: Spring MVC subscribes to the
+ * returned publisher and completes the response from whichever thread emits.
+ */
+@RestController
+@RequestMapping("/reactive/user")
+@Tag(name = "Reactive User Controller", description = "Mono/Flux variants of the betting operations")
+public class ReactiveUserController {
+    /** Tickets awaited at once per results stream; more are only requested as these settle. */
+    private static final int RESULTS_CONCURRENCY = 256;
+    private static final int MAX_RESULTS = 10_000;
+    private static final int HISTORY_BATCH = 256;
+
+    private final UserService userService;
+
+    public ReactiveUserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Operation(summary = "Place a bet without blocking",
+            description = "Completes once the stake is reserved and durable; the ticket is PENDING until settled")
+    @PostMapping("/placeBet")
+    public Mono<BaseResponse<BetTicket>> placeBet(@Parameter(description = "Username of the user") @RequestParam String username,
+                                                  @Parameter(description = "ID of the game") @RequestParam long gameId,
+                                                  @Parameter(description = "Amount to bet") @RequestParam double betAmount) {
+        return Mono.fromFuture(() -> userService.placeBetAsync(username, gameId, betAmount))
+                .map(ReactiveUserController::toResponse);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BaseResponse<BetTicket> toResponse(ServiceResult<BetTicket> result) {
+        if (result.isOk()) {
+            return ResultUtils.success(result.getValue());
+        }
+        ErrorCode errorCode = result.getErrorCode();
+        RejectionLog.record(errorCode.getCode(), errorCode.getMessage(), result.getDescription());
+        return ResultUtils.error(errorCode.getCode(), errorCode.getMessage(), result.getDescription());
+    }
+
+    @Operation(summary = "Get the outcome of a bet",
+            description = "Returns the ticket right away, or waits up to waitMs for the settlement")
+    @GetMapping("/bet/{ticketId}")
+    public Mono<BaseResponse<BetTicket>> getBet(@Parameter(description = "Ticket ID returned by placeBet") @PathVariable long ticketId,
+                                                @Parameter(description = "Maximum time to wait for settlement in milliseconds")
+                                                @RequestParam(defaultValue = "0") long waitMs) {
+        return Mono.fromFuture(() -> userService.awaitBetTicket(ticketId, waitMs)).map(ResultUtils::success);
+    }
+
+    @Operation(summary = "Stream bet outcomes as they settle",
+            description = "Emits one ticket per line in settlement order, each after at most waitMs. "
+                    + "Unknown ticket IDs are skipped. Tickets are awaited " + RESULTS_CONCURRENCY
+                    + " at a time and only as fast as the client reads")
+    @PostMapping(value = "/bets/results", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BetTicket> streamResults(@RequestBody List<Long> ticketIds,
+                                         @Parameter(description = "Maximum time to wait for each settlement in milliseconds")
+                                         @RequestParam(defaultValue = "30000") long waitMs) {
+        if (ticketIds.isEmpty() || ticketIds.size() > MAX_RESULTS) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Between 1 and " + MAX_RESULTS + " ticket IDs are required");
+        }
+        return Flux.fromIterable(ticketIds)
+                .flatMap(ticketId -> Mono.fromFuture(() -> userService.awaitBetTicket(ticketId, waitMs))
+                        .onErrorResume(BusinessException.class, e -> Mono.empty()), RESULTS_CONCURRENCY);
+    }
+
+    @Operation(summary = "Get the balance of a user")
+    @GetMapping("/balance")
+    public Mono<BaseResponse<Double>> getBalance(@RequestParam String username) {
+        return Mono.fromCallable(() -> ResultUtils.success(userService.getBalance(username)));
+    }
+
+    @Operation(summary = "Stream the user's retained bet history",
+            description = "Newest first, one record per line, read from the history in batches as the client consumes them")
+    @GetMapping(value = "/betHistory", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BetRecord> streamBetHistory(@RequestParam String userName) {
+        return Flux.<BetHistoryPage, Integer>generate(() -> 0, (offset, sink) -> {
+                    BetHistoryPage batch = userService.getBetHistory(userName, offset, HISTORY_BATCH);
+                    if (batch.isEmpty()) {
+                        sink.complete();
+                    } else {
+                        sink.next(batch);
+                    }
+                    return offset + batch.size();
+                })
+                .concatMap(batch -> Flux.range(0, batch.size()).map(batch::get));
+    }
+}
@@ -2,42 +2,102 @@
 package com.erika.minicasino.controller;
 
 import com.erika.minicasino.common.BaseResponse;
+import com.erika.minicasino.common.ErrorCode;
 import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.exception.RejectionLog;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.CursorPage;
 import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetRequest;
+import com.erika.minicasino.model.BetResult;
+import com.erika.minicasino.model.BetSummaryWindow;
 import com.erika.minicasino.model.BetSummery;
 import com.erika.minicasino.model.User;
+import com.erika.minicasino.model.UserView;
 import com.erika.minicasino.service.UserService;
+import com.erika.minicasino.store.BetHistoryPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/user")
 @Tag(name = "User Controller", description = "Operations related to users")
 public class UserController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int EXPORT_FLUSH_INTERVAL = 512;
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
 
-    @Operation(summary = "Get all users")
-    @ApiResponse(responseCode = "200", description = "List of users",
-            content = @Content(schema = @Schema(implementation = User.class)))
+    @Operation(summary = "Get users, one page at a time",
+            description = "Users are returned in registration order without bet history; pass nextCursor back as cursor to get the next page")
+    @ApiResponse(responseCode = "200", description = "Page of users",
+            content = @Content(schema = @Schema(implementation = CursorPage.class)))
     @GetMapping
-    public BaseResponse<List<User>> getAllUsers() {
-        List<User> result = userService.getAllUsers();
-        return ResultUtils.success(result);
+    public BaseResponse<CursorPage<UserView>> getAllUsers(@Parameter(description = "Cursor returned by the previous page") @RequestParam(defaultValue = "0") long cursor,
+                                                          @Parameter(description = "Page size, at most " + MAX_PAGE_SIZE) @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (cursor < 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Cursor cannot be negative");
+        }
+        CursorPage<User> page = userService.getUsers(cursor, limit);
+        List<UserView> views = new ArrayList<>(page.getItems().size());
+        for (User user : page.getItems()) {
+            views.add(UserView.of(user, userService.getBalance(user.getUsername())));
+        }
+        return ResultUtils.success(new CursorPage<>(views, page.getNextCursor()));
+    }
+
+    @Operation(summary = "Export all users as a streamed JSON array",
+            description = "Writes users one by one without bet history, so memory use does not depend on the number of users")
+    @ApiResponse(responseCode = "200", description = "JSON array of users",
+            content = @Content(schema = @Schema(implementation = UserView.class)))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody exportUsers() {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                 Stream<User> users = userService.streamUsers()) {
+                generator.writeStartArray();
+                int written = 0;
+                for (User user : (Iterable<User>) users::iterator) {
+                    generator.writeObject(UserView.of(user, userService.getBalance(user.getUsername())));
+                    if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+        };
     }
 
     @Operation(summary = "Register a new user")
@@ -53,11 +113,11 @@ public class UserController {
         return ResultUtils.success(user);
     }
 
-    @Operation(summary = "Get user by username")
+    @Operation(summary = "Get user by username", description = "The balance is the live wallet balance")
     @GetMapping("/{username}")
-    public BaseResponse<User> getUser(@PathVariable String username) {
+    public BaseResponse<UserView> getUser(@PathVariable String username) {
         User user = userService.getUser(username);
-        return ResultUtils.success(user);
+        return ResultUtils.success(UserView.of(user, userService.getBalance(username)));
     }
 
     @Operation(summary = "Deposit money into user balance")
@@ -74,14 +134,15 @@ public class UserController {
     })
     @GetMapping("/balance")
     public BaseResponse<Double> getBalance(@RequestParam String username) {
-        double balance = userService.getUser(username).getBalance();
+        double balance = userService.getBalance(username);
         return ResultUtils.success(balance);
     }
 
-    @Operation(summary = "Place a bet")
+    @Operation(summary = "Place a bet",
+            description = "Reserves the stake and returns a ticket immediately; poll /user/bet/{ticketId} for the outcome")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Bet placed successfully",
-                    content = @Content(schema = @Schema(implementation = BetRecord.class))),
+            @ApiResponse(responseCode = "200", description = "Bet accepted",
+                    content = @Content(schema = @Schema(implementation = BetTicket.class))),
             @ApiResponse(responseCode = "40000", description = "Invalid bet parameters (e.g., negative amount or out-of-range)",
                     content = @Content(schema = @Schema(implementation = BaseResponse.class))),
             @ApiResponse(responseCode = "40001", description = "Game not found",
@@ -92,17 +153,89 @@ public class UserController {
                     content = @Content(schema = @Schema(implementation = BaseResponse.class)))
     })
     @PostMapping("/placeBet")
-    public BaseResponse<BetRecord> placeBet(@Parameter(description = "Username of the user") @RequestParam String username,
+    public BaseResponse<BetTicket> placeBet(@Parameter(description = "Username of the user") @RequestParam String username,
                                             @Parameter(description = "ID of the game") @RequestParam long gameId,
-                                            @Parameter(description = "Amount to bet") @RequestParam double betAmount) throws InterruptedException {
-        BetRecord betRecord = userService.placeBet(username, gameId, betAmount);
-        return ResultUtils.success(betRecord);
+                                            @Parameter(description = "Amount to bet") @RequestParam double betAmount) {
+        ServiceResult<BetTicket> result = userService.tryPlaceBet(username, gameId, betAmount);
+        if (!result.isOk()) {
+            // Rejections are routine here; answer them without the exception round trip
+            ErrorCode errorCode = result.getErrorCode();
+            RejectionLog.record(errorCode.getCode(), errorCode.getMessage(), result.getDescription());
+            return ResultUtils.error(errorCode.getCode(), errorCode.getMessage(), result.getDescription());
+        }
+        return ResultUtils.success(result.getValue());
+    }
+
+    @Operation(summary = "Place many bets in one request",
+            description = "Bets may be for one player (pass username) or several (set username per bet). "
+                    + "Results come back in request order, each with its own ErrorCode")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; check each result's code",
+                    content = @Content(schema = @Schema(implementation = BetResult.class))),
+            @ApiResponse(responseCode = "40000", description = "Empty or oversized batch",
+                    content = @Content(schema = @Schema(implementation = BaseResponse.class)))
+    })
+    @PostMapping("/placeBets")
+    public BaseResponse<List<BetResult>> placeBets(@Parameter(description = "Player for bets that do not name one") @RequestParam(required = false) String username,
+                                                   @RequestBody List<BetRequest> bets) {
+        if (bets == null || bets.isEmpty() || bets.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Batch must hold between 1 and " + MAX_BATCH_SIZE + " bets");
+        }
+        if (username != null) {
+            for (BetRequest bet : bets) {
+                if (bet.getUsername() == null) {
+                    bet.setUsername(username);
+                }
+            }
+        }
+        return ResultUtils.success(userService.placeBets(bets));
     }
 
-    @Operation(summary = "Get summary of user's betting history")
+    @Operation(summary = "Get the outcome of a bet",
+            description = "Returns the ticket right away, or long-polls up to waitMs until the bet is settled")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket returned (PENDING or SETTLED)",
+                    content = @Content(schema = @Schema(implementation = BetTicket.class))),
+            @ApiResponse(responseCode = "40001", description = "Ticket not found",
+                    content = @Content(schema = @Schema(implementation = BaseResponse.class)))
+    })
+    @GetMapping("/bet/{ticketId}")
+    public CompletableFuture<BaseResponse<BetTicket>> getBet(@Parameter(description = "Ticket ID returned by placeBet") @PathVariable long ticketId,
+                                                             @Parameter(description = "Maximum time to wait for settlement in milliseconds")
+                                                             @RequestParam(defaultValue = "0") long waitMs) {
+        return userService.awaitBetTicket(ticketId, waitMs).thenApply(ResultUtils::success);
+    }
+
+    @Operation(summary = "Get the user's most recent bets",
+            description = "Newest first; only the last minicasino.history.retention bets per user are kept")
+    @GetMapping("/betHistory")
+    @ApiResponse(responseCode = "200", description = "Bets, newest first",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = BetRecord.class))))
+    public BaseResponse<BetHistoryPage> getBetHistory(@RequestParam String userName,
+                                                      @RequestParam(defaultValue = "0") int offset,
+                                                      @Parameter(description = "Page size, at most " + MAX_PAGE_SIZE)
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        if (offset < 0 || limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Offset must be positive and limit between 1 and " + MAX_PAGE_SIZE);
+        }
+        BetHistoryPage history = userService.getBetHistory(userName, offset, limit);
+        return ResultUtils.success(history);
+    }
+
+    @Operation(summary = "Get summary of user's betting history",
+            description = "Served from running aggregates; window limits the summary to the last hour or day")
     @GetMapping("/betSummary")
-    public BaseResponse<BetSummery> getSummary(@RequestParam String userName) {
-        BetSummery betSummery = userService.getBetSummary(userName);
+    public BaseResponse<BetSummery> getSummary(@RequestParam String userName,
+                                               @Parameter(description = "Time window (ALL, HOUR or DAY)")
+                                               @RequestParam(defaultValue = "ALL") BetSummaryWindow window) {
+        BetSummery betSummery = userService.getBetSummary(userName, window);
         return ResultUtils.success(betSummery);
     }
+
+    @Operation(summary = "Get summary of user's betting history per game")
+    @GetMapping("/betSummary/games")
+    public BaseResponse<Map<Long, BetSummery>> getSummaryByGame(@RequestParam String userName) {
+        Map<Long, BetSummery> summaries = userService.getBetSummaryByGame(userName);
+        return ResultUtils.success(summaries);
+    }
 }
\ No newline at end of file
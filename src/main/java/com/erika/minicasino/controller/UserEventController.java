@@ -0,0 +1,42 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.service.AccountEventService;
+import com.erika.minicasino.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/user")
+@Tag(name = "User Event Controller", description = "Live account updates")
+public class UserEventController {
+    private final UserService userService;
+    private final AccountEventService accountEventService;
+
+    public UserEventController(UserService userService, AccountEventService accountEventService) {
+        this.userService = userService;
+        this.accountEventService = accountEventService;
+    }
+
+    @Operation(summary = "Stream the user's account events",
+            description = "Server-Sent Events named DEPOSIT, BET_PLACED and BET_SETTLED, each carrying the new balance. "
+                    + "A client that falls behind loses the oldest events and gets a 'gap' event with the number dropped; "
+                    + "re-read /user/balance when that happens")
+    @ApiResponse(responseCode = "200", description = "Event stream",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = AccountEvent.class)))
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@Parameter(description = "Username of the user") @RequestParam String username) {
+        userService.getUser(username);
+        return accountEventService.subscribe(username);
+    }
+}
@@ -0,0 +1,53 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.common.BaseResponse;
+import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.model.ImportFormat;
+import com.erika.minicasino.model.ImportReport;
+import com.erika.minicasino.service.UserImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/user/import")
+@Tag(name = "User Import Controller", description = "Bulk onboarding of users and deposits")
+public class UserImportController {
+    private final UserImportService importService;
+
+    public UserImportController(UserImportService importService) {
+        this.importService = importService;
+    }
+
+    @Operation(summary = "Bulk-register users from NDJSON or CSV",
+            description = "Send application/x-ndjson with one user object per line, or text/csv with "
+                    + "name,username,birthdate[,balance] per line and an optional header. The body is streamed")
+    @ApiResponse(responseCode = "200", description = "Import finished; the report lists rejected rows",
+            content = @Content(schema = @Schema(implementation = ImportReport.class)))
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public BaseResponse<ImportReport> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                  InputStream body) throws IOException {
+        return ResultUtils.success(importService.importUsers(body, ImportFormat.fromContentType(contentType)));
+    }
+
+    @Operation(summary = "Bulk-deposit from NDJSON or CSV",
+            description = "Send application/x-ndjson with {\"username\", \"amount\"} per line, or text/csv with "
+                    + "username,amount per line and an optional header. The body is streamed")
+    @ApiResponse(responseCode = "200", description = "Import finished; the report lists rejected rows",
+            content = @Content(schema = @Schema(implementation = ImportReport.class)))
+    @PostMapping(value = "/deposits", consumes = {"application/x-ndjson", "text/csv"})
+    public BaseResponse<ImportReport> importDeposits(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                     InputStream body) throws IOException {
+        return ResultUtils.success(importService.importDeposits(body, ImportFormat.fromContentType(contentType)));
+    }
+}
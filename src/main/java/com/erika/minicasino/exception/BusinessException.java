@@ -5,23 +5,51 @@ import com.erika.minicasino.common.ErrorCode;
 public class BusinessException extends RuntimeException{
     private final int code;
     private final String description;
+    private final boolean rejection;
 
     public BusinessException(String message, int code, String description) {
         super(message);
         this.code = code;
         this.description = description;
+        this.rejection = false;
     }
 
     public BusinessException(ErrorCode errorCode) {
         super(errorCode.getMessage());
         this.code = errorCode.getCode();
         this.description = errorCode.getDescription();
+        this.rejection = false;
     }
 
     public BusinessException(ErrorCode errorCode, String description) {
         super(errorCode.getMessage());
         this.code = errorCode.getCode();
         this.description = description;
+        this.rejection = false;
+    }
+
+    /** Exception for a failure caused by {@code cause}, which is kept for the error log. */
+    public BusinessException(ErrorCode errorCode, String description, Throwable cause) {
+        super(errorCode.getMessage(), cause);
+        this.code = errorCode.getCode();
+        this.description = description;
+        this.rejection = false;
+    }
+
+    private BusinessException(ErrorCode errorCode, String description, boolean writableStackTrace) {
+        super(errorCode.getMessage(), null, false, writableStackTrace);
+        this.code = errorCode.getCode();
+        this.description = description;
+        this.rejection = true;
+    }
+
+    /**
+     * Exception for a routine rejection such as a failed validation. It carries no stack
+     * trace: these are expected outcomes, thrown often, and the trace would only cost
+     * time to capture.
+     */
+    public static BusinessException rejection(ErrorCode errorCode, String description) {
+        return new BusinessException(errorCode, description, false);
     }
 
     public int getCode() {
@@ -32,4 +60,9 @@ public class BusinessException extends RuntimeException{
         return description;
     }
 
+    /** True when created by {@link #rejection}. */
+    public boolean isRejection() {
+        return rejection;
+    }
+
 }
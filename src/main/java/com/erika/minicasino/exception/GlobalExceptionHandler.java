@@ -3,8 +3,11 @@ package com.erika.minicasino.exception;
 import com.erika.minicasino.common.BaseResponse;
 import com.erika.minicasino.common.ErrorCode;
 import com.erika.minicasino.common.ResultUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -12,14 +15,50 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
+    private static final ErrorCode[] ERROR_CODES = ErrorCode.values();
+
+    /** Error responses by code; indexed by the position of the code in {@link ErrorCode}. */
+    private Counter[] errors;
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry registry) {
+        Counter[] counters = new Counter[ERROR_CODES.length];
+        for (ErrorCode errorCode : ERROR_CODES) {
+            counters[errorCode.ordinal()] = Counter.builder("minicasino.api.errors")
+                    .description("Error responses produced from exceptions, by ErrorCode")
+                    .tag("code", String.valueOf(errorCode.getCode()))
+                    .register(registry);
+        }
+        this.errors = counters;
+    }
+
+    private void count(int code) {
+        if (errors == null) {
+            return;
+        }
+        for (ErrorCode errorCode : ERROR_CODES) {
+            if (errorCode.getCode() == code) {
+                errors[errorCode.ordinal()].increment();
+                return;
+            }
+        }
+    }
+
     @ExceptionHandler(BusinessException.class)
     public BaseResponse<?> businessExceptionHandler(BusinessException e) {
-        log.error("businessException: " + e.getMessage(), e);
+        count(e.getCode());
+        if (e.getCode() == ErrorCode.SYSTEM_ERROR.getCode() && !e.isRejection()) {
+            // A fault, such as a failed ledger write, rather than a refused request
+            log.error("System error: {}", e.getDescription(), e);
+        } else {
+            RejectionLog.record(e.getCode(), e.getMessage(), e.getDescription());
+        }
         return ResultUtils.error(e.getCode(), e.getMessage(), e.getDescription());
     }
 
     @ExceptionHandler(RuntimeException.class)
     public BaseResponse<?> runtimeExceptionHandler(RuntimeException e) {
+        count(ErrorCode.SYSTEM_ERROR.getCode());
         log.error("runtimeException", e);
         return ResultUtils.error(ErrorCode.SYSTEM_ERROR, e.getMessage(), "");
     }
@@ -0,0 +1,46 @@
+package com.erika.minicasino.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-limited WARN logging for business rejections.
+ * <p>
+ * Rejections are client errors, not faults: under a burst of them (a bot retrying with an
+ * empty wallet, say) logging every one at ERROR with a stack trace costs more than serving
+ * the request. At most {@link #PER_SECOND} lines are written per second, without stack
+ * traces, and the first line of the next second reports how many were suppressed.
+ */
+@Slf4j
+public final class RejectionLog {
+    static final int PER_SECOND = 10;
+
+    private static final AtomicLong window = new AtomicLong();
+    private static final AtomicLong inWindow = new AtomicLong();
+    private static final AtomicLong suppressed = new AtomicLong();
+
+    private RejectionLog() {
+    }
+
+    public static void record(int code, String message, String description) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long current = window.get();
+        if (second != current && window.compareAndSet(current, second)) {
+            inWindow.set(0);
+        }
+        if (inWindow.incrementAndGet() > PER_SECOND) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long dropped = suppressed.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("rejected [{}] {}: {} ({} similar rejections suppressed)", code, message, description, dropped);
+        } else {
+            log.warn("rejected [{}] {}: {}", code, message, description);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.erika.minicasino.metrics;
+
+import com.erika.minicasino.common.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters recorded on the bet path. Every meter is registered up front (per-game amount
+ * summaries on a game's first bet), so recording is a field read and an update: no tag
+ * lists are built and no registry lookups happen per bet.
+ */
+public class BetMetrics {
+    /** Records into meters that discard everything; used until a registry is configured. */
+    public static final BetMetrics NOOP = new BetMetrics(new CompositeMeterRegistry());
+
+    /** Histogram bucket bounds for bet amounts; a few fixed buckets are far cheaper to update than percentiles. */
+    private static final double[] AMOUNT_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 5000};
+
+    private final MeterRegistry registry;
+    private final Timer validation;
+    private final Timer reservation;
+    private final Timer settlement;
+    private final Counter accepted;
+    private final Map<ErrorCode, Counter> rejections = new EnumMap<>(ErrorCode.class);
+    private final Map<Long, DistributionSummary> amounts = new ConcurrentHashMap<>();
+
+    public BetMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.validation = stage(registry, "validation");
+        this.reservation = stage(registry, "reservation");
+        this.settlement = stage(registry, "settlement");
+        this.accepted = Counter.builder("minicasino.bet.accepted")
+                .description("Bets accepted")
+                .register(registry);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            rejections.put(errorCode, Counter.builder("minicasino.bet.rejections")
+                    .description("Bets rejected, by ErrorCode")
+                    .tag("code", String.valueOf(errorCode.getCode()))
+                    .register(registry));
+        }
+    }
+
+    private static Timer stage(MeterRegistry registry, String stage) {
+        return Timer.builder("minicasino.bet.stage")
+                .description("Time spent in each stage of a bet: validation, durable reservation, settlement")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    public void validated(long nanos) {
+        validation.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void reserved(long nanos) {
+        reservation.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void settled(long nanos) {
+        settlement.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void accepted(long gameId, double amount) {
+        accepted.increment();
+        DistributionSummary summary = amounts.get(gameId);
+        if (summary == null) {
+            summary = amounts.computeIfAbsent(gameId, this::amountSummary);
+        }
+        summary.record(amount);
+    }
+
+    public void rejected(ErrorCode errorCode) {
+        rejections.get(errorCode).increment();
+    }
+
+    private DistributionSummary amountSummary(long gameId) {
+        return DistributionSummary.builder("minicasino.bet.amount")
+                .description("Amounts bet, by game")
+                .baseUnit("EUR")
+                .tag("game", String.valueOf(gameId))
+                .serviceLevelObjectives(AMOUNT_BUCKETS)
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.erika.minicasino.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A change to a player's account, published once it is durable")
+public class AccountEvent {
+    @Schema(description = "What happened", example = "BET_SETTLED")
+    private AccountEventType type;
+
+    @Schema(description = "Player the event belongs to", example = "erika123")
+    private String username;
+
+    @Schema(description = "Ticket of the bet; absent for deposits", example = "42")
+    private Long ticketId;
+
+    @Schema(description = "Game of the bet; absent for deposits", example = "1")
+    private Long gameId;
+
+    @Schema(description = "Deposited amount, or the stake of the bet", example = "10.0")
+    private double amount;
+
+    @Schema(description = "Amount paid out; only present once a bet is settled", example = "20.0")
+    private Double amountWon;
+
+    @Schema(description = "Whether the bet won; only present once a bet is settled", example = "true")
+    private Boolean win;
+
+    @Schema(description = "Balance right after the change", example = "110.0")
+    private double balance;
+
+    @Schema(description = "When the change happened, in epoch milliseconds", example = "1735689600000")
+    private long timestamp;
+
+    public static AccountEvent deposit(String username, double amount, double balance) {
+        return new AccountEvent(AccountEventType.DEPOSIT, username, null, null, amount, null, null, balance,
+                System.currentTimeMillis());
+    }
+
+    public static AccountEvent betPlaced(BetTicket ticket, double balance) {
+        return new AccountEvent(AccountEventType.BET_PLACED, ticket.getUsername(), ticket.getTicketId(),
+                ticket.getGameId(), ticket.getAmountBet(), null, null, balance, System.currentTimeMillis());
+    }
+
+    public static AccountEvent betSettled(BetTicket ticket, BetRecord record, double balance) {
+        return new AccountEvent(AccountEventType.BET_SETTLED, ticket.getUsername(), ticket.getTicketId(),
+                ticket.getGameId(), record.getAmountBet(), record.getAmountWon(), record.isWin(), balance,
+                record.getSettledAt());
+    }
+}
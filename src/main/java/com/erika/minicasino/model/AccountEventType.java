@@ -0,0 +1,7 @@
+package com.erika.minicasino.model;
+
+public enum AccountEventType {
+    DEPOSIT,
+    BET_PLACED,
+    BET_SETTLED
+}
@@ -3,6 +3,10 @@ package com.erika.minicasino.model;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+/**
+ * A settled bet. Bet history is stored column-wise; records are only materialized
+ * when a bet is settled or history is read.
+ */
 @Data
 @AllArgsConstructor
 public class BetRecord {
@@ -10,4 +14,9 @@ public class BetRecord {
     private double amountBet;
     private double amountWon;
     private boolean win;
+    private long settledAt;
+
+    public BetRecord(Long gameId, double amountBet, double amountWon, boolean win) {
+        this(gameId, amountBet, amountWon, win, 0L);
+    }
 }
@@ -0,0 +1,21 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One bet in a batch")
+public class BetRequest {
+    @Schema(description = "Username of the player; may be omitted when the batch names a default user", example = "erika123")
+    private String username;
+
+    @Schema(description = "ID of the game", example = "1")
+    private long gameId;
+
+    @Schema(description = "Amount to bet", example = "10.0")
+    private double amount;
+}
@@ -0,0 +1,30 @@
+package com.erika.minicasino.model;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one bet in a batch, in the same position as the request")
+public class BetResult {
+    @Schema(description = "200 when accepted, otherwise the ErrorCode of the rejection", example = "200")
+    private int code;
+
+    @Schema(description = "Ticket to poll for the outcome; only present when accepted", example = "42")
+    private Long ticketId;
+
+    @Schema(description = "Why the bet was rejected; only present when rejected", example = "Insufficient balance")
+    private String description;
+
+    public static BetResult accepted(long ticketId) {
+        return new BetResult(ErrorCode.SUCCESS.getCode(), ticketId, null);
+    }
+
+    public static BetResult rejected(ErrorCode errorCode, String description) {
+        return new BetResult(errorCode.getCode(), null, description);
+    }
+}
@@ -0,0 +1,6 @@
+package com.erika.minicasino.model;
+
+public enum BetStatus {
+    PENDING,
+    SETTLED
+}
@@ -0,0 +1,7 @@
+package com.erika.minicasino.model;
+
+public enum BetSummaryWindow {
+    ALL,
+    HOUR,
+    DAY
+}
@@ -0,0 +1,38 @@
+package com.erika.minicasino.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.concurrent.CompletableFuture;
+
+@Data
+@Schema(description = "Ticket handed out when a bet is accepted; carries the result once settled")
+public class BetTicket {
+    @Schema(description = "Ticket ID used to poll the bet outcome", example = "42")
+    private final long ticketId;
+
+    @Schema(description = "Username of the player", example = "erika123")
+    private final String username;
+
+    @Schema(description = "ID of the game", example = "1")
+    private final long gameId;
+
+    @Schema(description = "Stake reserved for this bet", example = "10.0")
+    private final double amountBet;
+
+    @Schema(description = "Settlement status", example = "PENDING")
+    private volatile BetStatus status = BetStatus.PENDING;
+
+    @Schema(description = "Bet outcome, present once the ticket is settled")
+    private volatile BetRecord result;
+
+    @JsonIgnore
+    private final transient CompletableFuture<BetTicket> settlement = new CompletableFuture<>();
+
+    public void settle(BetRecord record) {
+        this.result = record;
+        this.status = BetStatus.SETTLED;
+        settlement.complete(this);
+    }
+}
@@ -0,0 +1,25 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Changes an upload applied to the game catalog")
+public class CatalogDiff {
+    @Schema(description = "Games that were not in the catalog before")
+    private List<Game> added;
+
+    @Schema(description = "Games whose details changed, as they are now")
+    private List<Game> changed;
+
+    @Schema(description = "IDs of games removed because the upload no longer lists them")
+    private List<Long> removed;
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,18 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "One page of a cursor-paginated listing")
+public class CursorPage<T> {
+    @Schema(description = "Items on this page")
+    private List<T> items;
+
+    @Schema(description = "Cursor for the next page, absent on the last page", example = "100")
+    private Long nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One deposit in a bulk import")
+public class DepositRequest {
+    @Schema(description = "Username of the player", example = "erika123")
+    private String username;
+
+    @Schema(description = "Amount to deposit", example = "50.0")
+    private double amount;
+}
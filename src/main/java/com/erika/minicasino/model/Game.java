@@ -47,4 +47,53 @@ public class Game {
     public double getMaxBet() {
         return maxBet;
     }
+
+    /**
+     * An unmodifiable copy of this game, for sharing through the catalog: every setter
+     * of the copy throws, so no caller can change odds under bets already placed.
+     */
+    public Game frozen() {
+        return this instanceof Frozen ? this : new Frozen(this);
+    }
+
+    private static final class Frozen extends Game {
+        Frozen(Game game) {
+            super(game.getId(), game.getName(), game.getChanceOfWinning(), game.getWinningMultiplier(),
+                    game.getMinBet(), game.getMaxBet());
+        }
+
+        @Override
+        public void setId(Long id) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setName(String name) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setChanceOfWinning(double chanceOfWinning) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setWinningMultiplier(double winningMultiplier) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setMinBet(double minBet) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setMaxBet(double maxBet) {
+            throw unmodifiable();
+        }
+
+        private static UnsupportedOperationException unmodifiable() {
+            return new UnsupportedOperationException("Catalog games are immutable; add a changed copy instead");
+        }
+    }
 }
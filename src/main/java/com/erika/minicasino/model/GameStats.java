@@ -0,0 +1,65 @@
+package com.erika.minicasino.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Live return-to-player, hit rate and liability of a game since startup")
+public class GameStats {
+    @Schema(description = "Game ID", example = "1")
+    private Long gameId;
+
+    @Schema(description = "Game name", example = "Roulette")
+    private String name;
+
+    @Schema(description = "Return to player implied by the configuration: chanceOfWinning x winningMultiplier", example = "0.96")
+    private double expectedRtp;
+
+    @Schema(description = "Bets settled", example = "12000")
+    private long bets;
+
+    @Schema(description = "Bets that won", example = "5810")
+    private long wins;
+
+    @Schema(description = "Total staked on settled bets", example = "120000.0")
+    private double totalBet;
+
+    @Schema(description = "Total paid out", example = "115320.0")
+    private double totalWon;
+
+    @Schema(description = "Share of settled bets that won; absent before the first settlement", example = "0.484")
+    private Double hitRate;
+
+    @Schema(description = "Paid out divided by staked; absent before the first settlement", example = "0.961")
+    private Double rtp;
+
+    @Schema(description = "Bets placed and not yet settled", example = "35")
+    private long openBets;
+
+    @Schema(description = "Stakes of the bets not yet settled", example = "350.0")
+    private double openStakes;
+
+    @Schema(description = "Payout owed if every open bet won", example = "700.0")
+    private double liability;
+
+    @Schema(description = "Length of the sliding window, in seconds", example = "3600")
+    private long windowSeconds;
+
+    @Schema(description = "Bets settled within the window", example = "900")
+    private long windowBets;
+
+    @Schema(description = "Hit rate within the window", example = "0.47")
+    private Double windowHitRate;
+
+    @Schema(description = "Return to player within the window", example = "0.94")
+    private Double windowRtp;
+
+    @Schema(description = "Window RTP minus expected RTP", example = "-0.02")
+    private Double rtpDeviation;
+
+    @Schema(description = "Deviation in standard errors; beyond about 3 the game is unlikely to be paying as configured",
+            example = "-0.63")
+    private Double rtpZScore;
+}
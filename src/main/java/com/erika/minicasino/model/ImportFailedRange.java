@@ -0,0 +1,22 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Rows whose insert failed as a whole; they may be partially applied but none was confirmed durable")
+public class ImportFailedRange {
+    @Schema(description = "1-based line number of the first row in the range", example = "1001")
+    private long fromRow;
+
+    @Schema(description = "1-based line number of the last row in the range", example = "1334")
+    private long toRow;
+
+    @Schema(description = "Data rows in the range", example = "334")
+    private long rows;
+
+    @Schema(description = "Why the insert failed", example = "Ledger write failed")
+    private String description;
+}
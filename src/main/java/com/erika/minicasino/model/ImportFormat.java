@@ -0,0 +1,14 @@
+package com.erika.minicasino.model;
+
+/** Row formats accepted by the bulk import endpoints. */
+public enum ImportFormat {
+    /** One JSON object per line ({@code application/x-ndjson}). */
+    NDJSON,
+    /** Comma-separated values with an optional header line ({@code text/csv}). */
+    CSV;
+
+    /** CSV for {@code text/csv}, NDJSON for anything else. */
+    public static ImportFormat fromContentType(String contentType) {
+        return contentType != null && contentType.toLowerCase().startsWith("text/csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,33 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Result of a bulk import; when aborted, rows before the failed ranges are imported and rows after them were not read")
+public class ImportReport {
+    @Schema(description = "Data rows read from the file", example = "100000")
+    private long rows;
+
+    @Schema(description = "Rows imported successfully", example = "99998")
+    private long imported;
+
+    @Schema(description = "Rows rejected, including those in failedRanges", example = "2")
+    private long failed;
+
+    @Schema(description = "Rejected rows, in file order, up to minicasino.bulk-import.max-reported-errors")
+    private List<ImportRowError> errors;
+
+    @Schema(description = "True when more rows failed than are listed in errors")
+    private boolean errorsTruncated;
+
+    @Schema(description = "True when an insert failed and the import stopped after that batch")
+    private boolean aborted;
+
+    @Schema(description = "Slices of the last batch whose insert failed; empty unless aborted")
+    private List<ImportFailedRange> failedRanges;
+}
@@ -0,0 +1,19 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A row that could not be imported")
+public class ImportRowError {
+    @Schema(description = "1-based line number in the uploaded file", example = "42")
+    private long row;
+
+    @Schema(description = "ErrorCode of the rejection", example = "40100")
+    private int code;
+
+    @Schema(description = "Why the row was rejected", example = "Username already exists!")
+    private String description;
+}
@@ -0,0 +1,19 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "A player's place on a leaderboard")
+public class LeaderboardEntry {
+    @Schema(description = "Position, starting at 1", example = "1")
+    private int rank;
+
+    @Schema(description = "Player", example = "erika123")
+    private String username;
+
+    @Schema(description = "Net winnings, total wagered or biggest single win, depending on the metric", example = "250.0")
+    private double value;
+}
@@ -0,0 +1,7 @@
+package com.erika.minicasino.model;
+
+public enum LeaderboardMetric {
+    NET_WINNINGS,
+    TOTAL_WAGERED,
+    BIGGEST_WIN
+}
@@ -1,6 +1,8 @@
 package com.erika.minicasino.model;
 
+import com.erika.minicasino.stats.UserBetStats;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
@@ -10,8 +12,6 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @Schema(description = "User model representing a registered casino player")
@@ -25,12 +25,11 @@ public class User {
     @Schema(description = "Birthdate in yyyy-MM-dd format", example = "2000-01-01")
     private LocalDate birthdate;
 
-    @Schema(description = "Current account balance", example = "100.0")
+    @Schema(description = "Opening balance credited to the wallet on registration; see /user/balance for the live balance", example = "100.0")
     private double balance;
 
-    @Schema(description = "History of the user's bets")
-    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
-    private List<BetRecord> betHistory = new ArrayList<>();
+    @JsonIgnore
+    private final transient UserBetStats betStats = new UserBetStats();
 
     @JsonCreator
     public User(@JsonProperty("name") String name,
@@ -46,8 +45,4 @@ public class User {
     public User(String name, String username, LocalDate birthdate) {
         this(name, username, birthdate, 0.0);
     }
-
-    public void addBetRecord(BetRecord record) {
-        betHistory.add(record);
-    }
 }
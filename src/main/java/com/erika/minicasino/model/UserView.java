@@ -0,0 +1,28 @@
+package com.erika.minicasino.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Lightweight user projection without bet history")
+public class UserView {
+    @Schema(description = "Full name", example = "erika")
+    private String name;
+
+    @Schema(description = "Unique username", example = "erika123")
+    private String username;
+
+    @Schema(description = "Birthdate in yyyy-MM-dd format", example = "2000-01-01")
+    private LocalDate birthdate;
+
+    @Schema(description = "Current account balance", example = "100.0")
+    private double balance;
+
+    public static UserView of(User user, double balance) {
+        return new UserView(user.getName(), user.getUsername(), user.getBirthdate(), balance);
+    }
+}
@@ -0,0 +1,33 @@
+package com.erika.minicasino.rng;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Source of the random draw that decides a bet.
+ * <p>
+ * Draws are keyed by ticket so a seeded engine can reproduce the outcome of any bet
+ * for an audit; the default engine ignores the key and gives each thread its own
+ * generator, so settlement threads never contend on a shared seed.
+ */
+public interface OutcomeRng {
+    String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /** Uniform draw in {@code [0, 1)} for the bet with this ticket. */
+    double nextDouble(long ticketId);
+
+    /**
+     * Per-thread engine using {@code algorithm}, or a reproducible engine when
+     * {@code seed} is set.
+     */
+    static OutcomeRng create(String algorithm, Long seed) {
+        if (seed != null) {
+            return new SeededOutcomeRng(seed);
+        }
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+        if (!factory.isSplittable()) {
+            throw new IllegalArgumentException(algorithm + " is not a splittable random generator");
+        }
+        return new ThreadLocalOutcomeRng((RandomGenerator.SplittableGenerator) factory.create());
+    }
+}
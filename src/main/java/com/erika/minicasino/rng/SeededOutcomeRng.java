@@ -0,0 +1,23 @@
+package com.erika.minicasino.rng;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible engine for audits and tests: the draw for a ticket depends only on the
+ * seed and the ticket ID, whatever thread settles it and in whatever order.
+ */
+public class SeededOutcomeRng implements OutcomeRng {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    public SeededOutcomeRng(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public double nextDouble(long ticketId) {
+        // SplittableRandom mixes its seed, so neighbouring tickets get unrelated draws
+        return new SplittableRandom(seed + ticketId * GOLDEN_GAMMA).nextDouble();
+    }
+}
@@ -0,0 +1,34 @@
+package com.erika.minicasino.rng;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * Gives every thread its own generator split off a common root. Splitting yields
+ * statistically independent streams, and after the first draw on a thread no state is
+ * shared with any other thread.
+ */
+public class ThreadLocalOutcomeRng implements OutcomeRng {
+    private final RandomGenerator.SplittableGenerator root;
+    private final ReentrantLock rootLock = new ReentrantLock();
+    private final ThreadLocal<RandomGenerator> generators = ThreadLocal.withInitial(this::split);
+
+    public ThreadLocalOutcomeRng(RandomGenerator.SplittableGenerator root) {
+        this.root = root;
+    }
+
+    private RandomGenerator split() {
+        // The root is not thread-safe; this runs once per thread, on its first draw
+        rootLock.lock();
+        try {
+            return root.split();
+        } finally {
+            rootLock.unlock();
+        }
+    }
+
+    @Override
+    public double nextDouble(long ticketId) {
+        return generators.get().nextDouble();
+    }
+}
@@ -0,0 +1,12 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.model.AccountEvent;
+
+/**
+ * Receives deposits, bet placements and settlements from {@link UserService} once they
+ * are durable. Called on the thread that finished the change, often one of the bet
+ * completion threads, so implementations must return quickly and must not block.
+ */
+public interface AccountEventListener {
+    void onAccountEvent(AccountEvent event);
+}
@@ -0,0 +1,12 @@
+package com.erika.minicasino.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes a player's {@link com.erika.minicasino.model.AccountEvent}s to live subscribers.
+ */
+public interface AccountEventService extends AccountEventListener {
+    /** Opens a Server-Sent Events stream of the player's events from now on. */
+    SseEmitter subscribe(String username);
+    int getSubscriberCount();
+}
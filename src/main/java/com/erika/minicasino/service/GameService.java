@@ -1,5 +1,6 @@
 package com.erika.minicasino.service;
 
+import com.erika.minicasino.model.CatalogDiff;
 import com.erika.minicasino.model.Game;
 
 import java.io.InputStream;
@@ -10,7 +11,19 @@ public interface GameService {
     List<Game> getAllGames();
     Game getGameById(Long id);
 
+    /** Allocation-free lookup for the bet path; returns null instead of throwing. */
+    Game findGameById(long id);
+
+    /** Changes whenever the catalog does; lets callers cache anything derived from it. */
+    long getCatalogVersion();
+
     Game addGame(Game newGame);
 
     Map<Long, Game> loadFromXml(InputStream xml);
+
+    /**
+     * Applies only what differs between the uploaded games and the current catalog.
+     * Games absent from the upload are removed only when {@code removeMissing} is set.
+     */
+    CatalogDiff mergeFromXml(InputStream xml, boolean removeMissing);
 }
@@ -0,0 +1,12 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.model.GameStats;
+
+/**
+ * Per-game analytics fed from bet placements and settlements, so operators can read a
+ * game's return to player and liability without walking any player's history.
+ */
+public interface GameStatsService extends AccountEventListener {
+    /** Live stats of the game; throws if the game is not in the catalog. */
+    GameStats getStats(Long gameId);
+}
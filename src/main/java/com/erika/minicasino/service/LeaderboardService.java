@@ -0,0 +1,18 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.model.LeaderboardEntry;
+import com.erika.minicasino.model.LeaderboardMetric;
+
+import java.util.List;
+
+/**
+ * Player rankings kept up to date from bet settlements, so reading the top players never
+ * sorts the user base.
+ */
+public interface LeaderboardService extends AccountEventListener {
+    /** The best {@code limit} players by {@code metric} across all games. */
+    List<LeaderboardEntry> getTop(LeaderboardMetric metric, int limit);
+
+    /** The best {@code limit} players by {@code metric} on one game; throws if the game is not in the catalog. */
+    List<LeaderboardEntry> getTop(LeaderboardMetric metric, Long gameId, int limit);
+}
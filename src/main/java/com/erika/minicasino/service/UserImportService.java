@@ -0,0 +1,12 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.model.ImportFormat;
+import com.erika.minicasino.model.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+    ImportReport importUsers(InputStream rows, ImportFormat format) throws IOException;
+    ImportReport importDeposits(InputStream rows, ImportFormat format) throws IOException;
+}
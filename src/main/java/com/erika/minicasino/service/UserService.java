@@ -1,18 +1,50 @@
 package com.erika.minicasino.service;
 
-import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.model.BetRequest;
+import com.erika.minicasino.model.BetResult;
+import com.erika.minicasino.model.BetSummaryWindow;
 import com.erika.minicasino.model.BetSummery;
-import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.CursorPage;
+import com.erika.minicasino.model.DepositRequest;
+import com.erika.minicasino.model.ImportRowError;
 import com.erika.minicasino.model.User;
+import com.erika.minicasino.store.BetHistoryPage;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface UserService {
-    List<User> getAllUsers();
+    CursorPage<User> getUsers(long cursor, int limit);
+    Stream<User> streamUsers();
+    long getUserCount();
     public User registerUser(User user);
     public User getUser(String username);
     public void deposit(String username, double amount);
-    public BetRecord placeBet(String username, long gameId, double betAmount) throws InterruptedException;
+    /**
+     * Registers every valid user; returns the rejected ones with their index in {@code users}
+     * as row. A user whose ledger entry could not be written is rejected with SYSTEM_ERROR.
+     */
+    public List<ImportRowError> registerUsers(List<User> users);
+    /**
+     * Applies every valid deposit; returns the rejected ones with their index in {@code deposits}
+     * as row. A deposit whose ledger entry could not be written is rejected with SYSTEM_ERROR.
+     */
+    public List<ImportRowError> deposit(List<DepositRequest> deposits);
+    public double getBalance(String username);
+    public BetTicket placeBet(String username, long gameId, double betAmount);
+    /** Like {@link #placeBet}, but reports a rejected bet as a failed result instead of throwing. */
+    public ServiceResult<BetTicket> tryPlaceBet(String username, long gameId, double betAmount);
+    /** Like {@link #tryPlaceBet}, completing once the bet is durable instead of blocking for it. */
+    public CompletableFuture<ServiceResult<BetTicket>> placeBetAsync(String username, long gameId, double betAmount);
+    public List<BetResult> placeBets(List<BetRequest> bets);
+    public BetTicket getBetTicket(long ticketId);
+    public CompletableFuture<BetTicket> awaitBetTicket(long ticketId, long waitMs);
+    public BetHistoryPage getBetHistory(String username, int offset, int limit);
     public BetSummery getBetSummary(String username);
+    public BetSummery getBetSummary(String username, BetSummaryWindow window);
+    public Map<Long, BetSummery> getBetSummaryByGame(String username);
 }
@@ -0,0 +1,37 @@
+package com.erika.minicasino.service;
+
+/**
+ * Per-user wallets holding amounts in minor units. Money is either available or
+ * reserved for a pending bet; reserved money is committed to the house or released
+ * back to the player when the bet settles.
+ */
+public interface WalletService {
+    /**
+     * Opens a wallet with the given opening balance.
+     *
+     * @return false if the user already has a wallet
+     */
+    boolean openAccount(String username, long openingBalance);
+
+    /** Removes a wallet whose registration could not be completed. */
+    void closeAccount(String username);
+
+    long getBalance(String username);
+
+    long getReserved(String username);
+
+    void credit(String username, long amount);
+
+    /**
+     * Moves {@code amount} from available to reserved.
+     *
+     * @return false if the available balance is too low; nothing is reserved then
+     */
+    boolean reserve(String username, long amount);
+
+    /** Takes {@code amount} out of the reserved funds; the stake is lost to the house. */
+    void commit(String username, long amount);
+
+    /** Returns {@code amount} of reserved funds to the available balance. */
+    void release(String username, long amount);
+}
@@ -0,0 +1,196 @@
+package com.erika.minicasino.service.impl;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.service.AccountEventService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out hub for account events. Publishing only appends to each subscriber's bounded
+ * buffer, so the thread that completes a bet never waits for a client. A small
+ * sender pool drains the buffers, taking turns of at most {@link #SEND_BATCH} events per
+ * subscriber. When a slow client's buffer is full the oldest events are dropped, and the
+ * client is sent a {@code gap} event with the number lost so it can re-read its balance.
+ * <p>
+ * A player may hold a few streams at once (one per open tab, say); past
+ * {@code minicasino.events.max-subscribers-per-user} the oldest one is closed, so a
+ * client that reconnects without closing its old stream does not pile them up.
+ */
+@Slf4j
+@Service
+public class AccountEventServiceImpl implements AccountEventService {
+    static final int SEND_BATCH = 64;
+
+    private final CasinoProperties.Events properties;
+    private final Executor sender;
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    public AccountEventServiceImpl(CasinoProperties properties) {
+        this(properties, senderPool(properties.getEvents().getSenderThreads()));
+    }
+
+    AccountEventServiceImpl(CasinoProperties properties, Executor sender) {
+        this.properties = properties.getEvents();
+        this.sender = sender;
+    }
+
+    private static ExecutorService senderPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "account-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService) {
+            ((ExecutorService) sender).shutdownNow();
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        register(username, emitter);
+        return emitter;
+    }
+
+    void register(String username, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(username, emitter, Math.max(1, properties.getBufferSize()));
+        int max = Math.max(1, properties.getMaxSubscribersPerUser());
+        List<Subscriber> evicted = new ArrayList<>(1);
+        // Added under the map's lock for this user, so a concurrent remove cannot drop the list it joins
+        subscribers.compute(username, (name, listening) -> {
+            if (listening == null) {
+                listening = new CopyOnWriteArrayList<>();
+            }
+            while (listening.size() >= max) {
+                evicted.add(listening.remove(0));
+                subscriberCount.decrementAndGet();
+            }
+            listening.add(subscriber);
+            subscriberCount.incrementAndGet();
+            return listening;
+        });
+        for (Subscriber oldest : evicted) {
+            log.debug("Closing the oldest event stream of {}: over {} streams", username, max);
+            oldest.close();
+            oldest.emitter.complete();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void onAccountEvent(AccountEvent event) {
+        List<Subscriber> listening = subscribers.get(event.getUsername());
+        if (listening == null) {
+            return;
+        }
+        for (Subscriber subscriber : listening) {
+            subscriber.offer(event);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.username, (username, listening) -> {
+            if (listening.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return listening.isEmpty() ? null : listening;
+        });
+    }
+
+    private final class Subscriber {
+        final String username;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<AccountEvent> buffer;
+        final AtomicInteger dropped = new AtomicInteger();
+        /** Set while a drain is queued or running, so only one sender writes to the emitter. */
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(String username, SseEmitter emitter, int capacity) {
+            this.username = username;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(AccountEvent event) {
+            if (closed) {
+                return;
+            }
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                int lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    emitter.send(SseEmitter.event().name("gap").data(Map.of("dropped", lost), MediaType.APPLICATION_JSON));
+                }
+                AccountEvent event;
+                for (int sent = 0; sent < SEND_BATCH && (event = buffer.poll()) != null; sent++) {
+                    emitter.send(SseEmitter.event().name(event.getType().name()).data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter's completion callback may not fire for a broken pipe
+                log.debug("Dropping event subscriber {}: {}", username, e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty() || dropped.get() > 0) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                buffer.clear();
+                remove(this);
+            }
+        }
+    }
+}
@@ -3,22 +3,33 @@ package com.erika.minicasino.service.impl;
 import com.erika.minicasino.common.ErrorCode;
 import com.erika.minicasino.common.ResultUtils;
 import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.CatalogDiff;
 import com.erika.minicasino.model.Game;
 import com.erika.minicasino.model.User;
 import com.erika.minicasino.service.GameService;
 import com.erika.minicasino.service.UserService;
-import com.erika.minicasino.utils.GameListWrapper;
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.Unmarshaller;
+import com.erika.minicasino.store.GameCatalog;
+import com.erika.minicasino.utils.GameXmlReader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class GameServiceImpl implements GameService {
-    private Map<Long, Game> gameMap = new HashMap<>();
+    /** Replaced wholesale on every change; bet lookups read it without locking. */
+    private volatile GameCatalog catalog = GameCatalog.EMPTY;
+    /** Bumped after every catalog swap, so a reader seeing a new version also sees its catalog. */
+    private volatile long catalogVersion;
+    /**
+     * Serializes catalog writers. A lock rather than {@code synchronized}, so a virtual
+     * thread waiting for it unmounts instead of pinning its carrier.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
     private final List<Game> gameHistory = new ArrayList<>();
     public GameServiceImpl() {
         try {
@@ -39,45 +50,152 @@ public class GameServiceImpl implements GameService {
     }
 
     private void initializeGames() {
-        gameMap.put(1L, new Game(1L, "Slot Machine", 0.2, 5.0, 1.0, 100.0));
-        gameMap.put(2L, new Game(2L, "Roulette", 0.4, 2.5, 2.0, 50.0));
-        gameMap.put(3L, new Game(3L, "Blackjack", 0.5, 2.0, 5.0, 200.0));
+        publish(GameCatalog.of(List.of(
+                new Game(1L, "Slot Machine", 0.2, 5.0, 1.0, 100.0),
+                new Game(2L, "Roulette", 0.4, 2.5, 2.0, 50.0),
+                new Game(3L, "Blackjack", 0.5, 2.0, 5.0, 200.0))));
     }
 
     @Override
     public Map<Long, Game> loadFromXml(InputStream xml) {
-        try{
-            JAXBContext context = JAXBContext.newInstance(GameListWrapper.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            GameListWrapper wrapper = (GameListWrapper) unmarshaller.unmarshal(xml);
-            gameMap.clear();
-            for (Game game : wrapper.getGames()) {
-                gameMap.put(game.getId(), game);
+        List<Game> games = readGames(xml);
+        // Build the whole catalog first so bets never see it empty or half-loaded
+        GameCatalog loaded = GameCatalog.of(games);
+        publish(loaded);
+        System.out.println("Loaded " + games.size() + " games from XML.");
+        return loaded.asMap();
+    }
+
+    @Override
+    public CatalogDiff mergeFromXml(InputStream xml, boolean removeMissing) {
+        Map<Long, Game> uploaded = new LinkedHashMap<>();
+        for (Game game : readGames(xml)) {
+            uploaded.put(game.getId(), game);
+        }
+        CatalogDiff diff;
+        writeLock.lock();
+        try {
+            GameCatalog current = catalog;
+            List<Game> added = new ArrayList<>();
+            List<Game> changed = new ArrayList<>();
+            for (Game game : uploaded.values()) {
+                Game existing = current.find(game.getId());
+                if (existing == null) {
+                    added.add(game);
+                } else if (!existing.equals(game)) {
+                    changed.add(game);
+                }
+            }
+            List<Long> removed = new ArrayList<>();
+            if (removeMissing) {
+                for (Game game : current.getGames()) {
+                    if (!uploaded.containsKey(game.getId())) {
+                        removed.add(game.getId());
+                    }
+                }
             }
-            System.out.println("Loaded " + wrapper.getGames().size() + " games from XML.");
+            diff = new CatalogDiff(added, changed, removed);
+            if (!diff.isEmpty()) {
+                List<Game> upserts = new ArrayList<>(added);
+                upserts.addAll(changed);
+                publish(current.withChanges(upserts, removed));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        System.out.println("Merged games from XML: " + diff.getAdded().size() + " added, " + diff.getChanged().size()
+                + " changed, " + diff.getRemoved().size() + " removed.");
+        return diff;
+    }
+
+    private static List<Game> readGames(InputStream xml) {
+        List<Game> games = new ArrayList<>();
+        try{
+            // Games are validated as they stream in, so a bad entry fails the upload early
+            GameXmlReader.read(xml, game -> {
+                validateGame(game, "Invalid game #" + (games.size() + 1));
+                games.add(game);
+            });
+        }catch (BusinessException e) {
+            throw e;
         }catch (Exception e) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR,"Invalid XML file.");
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR,"Invalid XML file.", e);
+        }
+        return games;
+    }
+
+    private static void validateGame(Game game, String label) {
+        String problem = null;
+        if (game.getId() == null) {
+            problem = "id is required";
+        } else if (!Double.isFinite(game.getChanceOfWinning()) || game.getChanceOfWinning() < 0 || game.getChanceOfWinning() > 1) {
+            problem = "chanceOfWinning must be between 0 and 1";
+        } else if (!Double.isFinite(game.getWinningMultiplier()) || game.getWinningMultiplier() < 0) {
+            problem = "winningMultiplier must be a non-negative number";
+        } else if (!Double.isFinite(game.getMaxBet())) {
+            problem = "maxBet must be a finite number";
+        } else if (!Double.isFinite(game.getMinBet()) || game.getMinBet() < 0 || game.getMinBet() > game.getMaxBet()) {
+            problem = "minBet must be between 0 and maxBet";
+        }
+        if (problem != null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, label + ": " + problem);
         }
-        return gameMap;
     }
 
     @Override
     public List<Game> getAllGames() {
-        return new ArrayList<>(gameMap.values());
+        return catalog.getGames();
     }
 
     @Override
     public Game getGameById(Long id) {
-        Game game = gameMap.get(id);
+        Game game = id == null ? null : catalog.find(id);
         if (game == null) {
             throw new BusinessException(ErrorCode.NULL_ERROR, "Game with ID " + id + " not found");
         }
         return game;
     }
 
+    private void publish(GameCatalog next) {
+        writeLock.lock();
+        try {
+            catalog = next;
+            catalogVersion++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry registry) {
+        Gauge.builder("minicasino.games.catalog.size", this, service -> service.catalog.size())
+                .description("Games in the catalog")
+                .register(registry);
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    @Override
+    public Game findGameById(long id) {
+        return catalog.find(id);
+    }
+
     @Override
     public Game addGame(Game game) {
-        gameMap.put(game.getId(), game);
-        return game;
+        if (game == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Game is required");
+        }
+        validateGame(game, "Invalid game");
+        Game stored = game.frozen();
+        writeLock.lock();
+        try {
+            publish(catalog.with(stored));
+        } finally {
+            writeLock.unlock();
+        }
+        return stored;
     }
 }
@@ -0,0 +1,109 @@
+package com.erika.minicasino.service.impl;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.GameStats;
+import com.erika.minicasino.service.GameService;
+import com.erika.minicasino.service.GameStatsService;
+import com.erika.minicasino.stats.GameBetStats;
+import com.erika.minicasino.utils.MoneyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link GameBetStats} per game, updated from the account events of each bet.
+ * Recording is a map lookup and a few adder increments on the thread that made the bet
+ * durable; all ratios are computed when stats are read.
+ */
+@Service
+public class GameStatsServiceImpl implements GameStatsService {
+    private final GameService gameService;
+    private final long windowMs;
+    private final int windowBuckets;
+    private final Map<Long, GameBetStats> stats = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameStatsServiceImpl(CasinoProperties properties, GameService gameService) {
+        this.gameService = gameService;
+        this.windowMs = properties.getAnalytics().getWindowMs();
+        this.windowBuckets = Math.max(1, properties.getAnalytics().getWindowBuckets());
+    }
+
+    @Override
+    public void onAccountEvent(AccountEvent event) {
+        if (event.getGameId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case BET_PLACED:
+                statsFor(event.getGameId()).placed(MoneyUtils.toMinorUnits(event.getAmount()));
+                break;
+            case BET_SETTLED:
+                statsFor(event.getGameId()).settled(event.getTimestamp(), MoneyUtils.toMinorUnits(event.getAmount()),
+                        MoneyUtils.toMinorUnits(event.getAmountWon()), Boolean.TRUE.equals(event.getWin()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private GameBetStats statsFor(Long gameId) {
+        GameBetStats game = stats.get(gameId);
+        if (game == null) {
+            game = stats.computeIfAbsent(gameId, id -> new GameBetStats(windowMs, windowBuckets));
+        }
+        return game;
+    }
+
+    @Override
+    public GameStats getStats(Long gameId) {
+        Game game = gameService.getGameById(gameId);
+        GameBetStats recorded = stats.get(gameId);
+        GameBetStats.Sample allTime = recorded == null ? GameBetStats.Sample.EMPTY : recorded.getAllTime();
+        GameBetStats.Sample window = recorded == null ? GameBetStats.Sample.EMPTY
+                : recorded.getWindow(System.currentTimeMillis());
+        double chance = game.getChanceOfWinning();
+        double multiplier = game.getWinningMultiplier();
+        double expectedRtp = chance * multiplier;
+
+        GameStats result = new GameStats();
+        result.setGameId(game.getId());
+        result.setName(game.getName());
+        result.setExpectedRtp(expectedRtp);
+        result.setBets(allTime.getBets());
+        result.setWins(allTime.getWins());
+        result.setTotalBet(MoneyUtils.toMajorUnits(allTime.getTotalBet()));
+        result.setTotalWon(MoneyUtils.toMajorUnits(allTime.getTotalWon()));
+        result.setHitRate(ratio(allTime.getWins(), allTime.getBets()));
+        result.setRtp(ratio(allTime.getTotalWon(), allTime.getTotalBet()));
+        long openStakes = recorded == null ? 0 : Math.max(0, recorded.getOpenStakes());
+        result.setOpenBets(recorded == null ? 0 : Math.max(0, recorded.getOpenBets()));
+        result.setOpenStakes(MoneyUtils.toMajorUnits(openStakes));
+        // Priced at the current multiplier, so a catalog change reprices open bets
+        result.setLiability(MoneyUtils.toMajorUnits(Math.round(openStakes * multiplier)));
+        result.setWindowSeconds(recorded == null ? windowMs / 1000 : recorded.getWindowMillis() / 1000);
+        result.setWindowBets(window.getBets());
+        result.setWindowHitRate(ratio(window.getWins(), window.getBets()));
+        Double windowRtp = ratio(window.getTotalWon(), window.getTotalBet());
+        result.setWindowRtp(windowRtp);
+        if (windowRtp != null) {
+            result.setRtpDeviation(windowRtp - expectedRtp);
+            // Each bet pays stake x multiplier with probability chance, so the RTP over
+            // stakes a has standard error multiplier * sqrt(chance(1-chance) * sum(a^2)) / sum(a)
+            double standardError = multiplier * Math.sqrt(chance * (1 - chance) * window.getStakeSquares())
+                    / MoneyUtils.toMajorUnits(window.getTotalBet());
+            if (standardError > 0) {
+                result.setRtpZScore((windowRtp - expectedRtp) / standardError);
+            }
+        }
+        return result;
+    }
+
+    private static Double ratio(long part, long whole) {
+        return whole == 0 ? null : (double) part / whole;
+    }
+}
@@ -0,0 +1,183 @@
+package com.erika.minicasino.service.impl;
+
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.model.AccountEventType;
+import com.erika.minicasino.model.LeaderboardEntry;
+import com.erika.minicasino.model.LeaderboardMetric;
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.service.GameService;
+import com.erika.minicasino.service.LeaderboardService;
+import com.erika.minicasino.service.UserService;
+import com.erika.minicasino.stats.BetTotals;
+import com.erika.minicasino.stats.Leaderboard;
+import com.erika.minicasino.utils.MoneyUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A global {@link Leaderboard} and one per game, fed from {@code BET_SETTLED} events,
+ * which carry the stake and payout of the settled {@code BetRecord}. Events are handed
+ * to a single updater thread, so the thread publishing a settlement never pays for
+ * re-ranking the player; the boards trail the settlements by that queue.
+ * <p>
+ * Settlements waiting for the updater are merged per player and game, and only the first
+ * one of a pair queues a task, so a burst the updater cannot keep up with grows the pending
+ * totals rather than the queue: it holds at most one task per player and game.
+ * <p>
+ * Once every bean is created, and so before any request is served, the boards are seeded
+ * from the per-player totals the user service restored from the ledger.
+ */
+@Slf4j
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService, SmartInitializingSingleton {
+    private final GameService gameService;
+    // Resolved lazily: the user service publishes to this listener, so it cannot be a constructor dependency
+    private final ObjectProvider<UserService> userService;
+    private final Leaderboard global = new Leaderboard();
+    private final Map<Long, Leaderboard> perGame = new ConcurrentHashMap<>();
+    private final Executor updater;
+    // Stake, payout and biggest payout per player and game, not yet on the boards
+    private final Map<PendingKey, long[]> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LeaderboardServiceImpl(GameService gameService, ObjectProvider<UserService> userService) {
+        this(gameService, userService, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-updater");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /** For tests: {@code updater} applies the settlements, e.g. {@code Runnable::run} to apply them in place. */
+    public LeaderboardServiceImpl(GameService gameService, ObjectProvider<UserService> userService, Executor updater) {
+        this.gameService = gameService;
+        this.userService = userService;
+        this.updater = updater;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (updater instanceof ExecutorService) {
+            ((ExecutorService) updater).shutdownNow();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        UserService users = userService.getIfAvailable();
+        if (users == null) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        users.streamUsers().forEach(this::seed);
+        log.info("Seeded leaderboards with {} players in {} ms", global.size(), System.currentTimeMillis() - started);
+    }
+
+    private void seed(User user) {
+        BetTotals allTime = user.getBetStats().getAllTime();
+        if (allTime.getCount() == 0) {
+            return;
+        }
+        global.seed(user.getUsername(), allTime.getTotalBet(), allTime.getTotalWon());
+        user.getBetStats().getPerGame().forEach((gameId, totals) ->
+                boardFor(gameId).seed(user.getUsername(), totals.getTotalBet(), totals.getTotalWon()));
+    }
+
+    @Override
+    public void onAccountEvent(AccountEvent event) {
+        if (event.getType() != AccountEventType.BET_SETTLED) {
+            return;
+        }
+        String username = event.getUsername();
+        Long gameId = event.getGameId();
+        long amountBet = MoneyUtils.toMinorUnits(event.getAmount());
+        long amountWon = event.getAmountWon() == null ? 0 : MoneyUtils.toMinorUnits(event.getAmountWon());
+        PendingKey key = new PendingKey(username, gameId);
+        boolean[] first = new boolean[1];
+        pending.compute(key, (ignored, totals) -> {
+            if (totals == null) {
+                first[0] = true;
+                return new long[]{amountBet, amountWon, amountWon};
+            }
+            totals[0] += amountBet;
+            totals[1] += amountWon;
+            totals[2] = Math.max(totals[2], amountWon);
+            return totals;
+        });
+        if (first[0]) {
+            updater.execute(() -> apply(key));
+        }
+    }
+
+    private void apply(PendingKey key) {
+        long[] totals = pending.remove(key);
+        if (totals == null) {
+            return;
+        }
+        global.record(key.username, totals[0], totals[1], totals[2]);
+        boardFor(key.gameId).record(key.username, totals[0], totals[1], totals[2]);
+    }
+
+    private Leaderboard boardFor(Long gameId) {
+        Leaderboard board = perGame.get(gameId);
+        if (board == null) {
+            board = perGame.computeIfAbsent(gameId, id -> new Leaderboard());
+        }
+        return board;
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTop(LeaderboardMetric metric, int limit) {
+        return entries(global, metric, limit);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTop(LeaderboardMetric metric, Long gameId, int limit) {
+        gameService.getGameById(gameId);
+        Leaderboard board = perGame.get(gameId);
+        return board == null ? List.of() : entries(board, metric, limit);
+    }
+
+    private static List<LeaderboardEntry> entries(Leaderboard board, LeaderboardMetric metric, int limit) {
+        List<Leaderboard.Ranked> top = board.top(metric, limit);
+        List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+        for (Leaderboard.Ranked ranked : top) {
+            entries.add(new LeaderboardEntry(entries.size() + 1, ranked.getUsername(),
+                    MoneyUtils.toMajorUnits(ranked.getValue())));
+        }
+        return entries;
+    }
+
+    private static final class PendingKey {
+        final String username;
+        final Long gameId;
+
+        PendingKey(String username, Long gameId) {
+            this.username = username;
+            this.gameId = gameId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PendingKey key && username.equals(key.username) && Objects.equals(gameId, key.gameId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * username.hashCode() + Objects.hashCode(gameId);
+        }
+    }
+}
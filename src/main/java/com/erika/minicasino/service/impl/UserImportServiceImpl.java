@@ -0,0 +1,329 @@
+package com.erika.minicasino.service.impl;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.DepositRequest;
+import com.erika.minicasino.model.ImportFailedRange;
+import com.erika.minicasino.model.ImportFormat;
+import com.erika.minicasino.model.ImportReport;
+import com.erika.minicasino.model.ImportRowError;
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.service.UserImportService;
+import com.erika.minicasino.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Streams users or deposits from NDJSON or CSV into the user service.
+ * <p>
+ * Rows are read in batches of {@code minicasino.bulk-import.batch-size}. Each batch is
+ * split across the import threads, which parse and validate their slice and insert it
+ * through the bulk service methods, so at most one batch is held in memory however
+ * large the upload is.
+ * <p>
+ * Rows longer than {@code minicasino.bulk-import.max-line-length} are skipped as they are
+ * read and rejected as malformed, so a single huge line cannot break that bound either.
+ * <p>
+ * Batches are committed as they go. A row whose ledger write fails is rejected with
+ * SYSTEM_ERROR and the import stops after that batch; everything else stays imported.
+ * An insert that fails outright cannot be rolled back either: the report then lists
+ * the failed slices, whose rows may be partially applied.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+    /** Stands in for a row over the length limit; compared by identity. */
+    private static final String OVERLONG_ROW = new String("overlong");
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final CasinoProperties.BulkImport properties;
+    private final ExecutorService executor;
+
+    public UserImportServiceImpl(UserService userService, ObjectMapper objectMapper, CasinoProperties properties) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.properties = properties.getBulkImport();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, this.properties.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ImportReport importUsers(InputStream rows, ImportFormat format) throws IOException {
+        RowParser<User> parser = format == ImportFormat.CSV ? this::parseUserCsv : line -> objectMapper.readValue(line, User.class);
+        return importRows(rows, format, "name", parser, userService::registerUsers);
+    }
+
+    @Override
+    public ImportReport importDeposits(InputStream rows, ImportFormat format) throws IOException {
+        RowParser<DepositRequest> parser = format == ImportFormat.CSV ? this::parseDepositCsv : line -> objectMapper.readValue(line, DepositRequest.class);
+        return importRows(rows, format, "username", parser, userService::deposit);
+    }
+
+    private User parseUserCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3 || fields.size() > 4) {
+            throw new IllegalArgumentException("expected name,username,birthdate[,balance]");
+        }
+        double balance = fields.size() == 4 && !fields.get(3).isEmpty() ? Double.parseDouble(fields.get(3)) : 0.0;
+        return new User(fields.get(0), fields.get(1), LocalDate.parse(fields.get(2)), balance);
+    }
+
+    private DepositRequest parseDepositCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 2) {
+            throw new IllegalArgumentException("expected username,amount");
+        }
+        return new DepositRequest(fields.get(0), Double.parseDouble(fields.get(1)));
+    }
+
+    /** Splits one CSV line; fields may be quoted, with {@code ""} for a literal quote. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private <T> ImportReport importRows(InputStream rows, ImportFormat format, String headerColumn, RowParser<T> rowParser,
+                                        Function<List<T>, List<ImportRowError>> insert) throws IOException {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int maxLineLength = Math.max(1, properties.getMaxLineLength());
+        RowParser<T> parser = line -> {
+            if (line == OVERLONG_ROW) {
+                throw new IllegalArgumentException("row is longer than " + maxLineLength + " characters");
+            }
+            return rowParser.parse(line);
+        };
+        Report report = new Report(properties.getMaxReportedErrors());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(rows, StandardCharsets.UTF_8));
+        StringBuilder buffer = new StringBuilder();
+        List<String> lines = new ArrayList<>(batchSize);
+        long[] lineNumbers = new long[batchSize];
+        long lineNumber = 0;
+        boolean firstRow = true;
+        boolean aborted = false;
+        String line;
+        while ((line = readLine(reader, buffer, maxLineLength)) != null) {
+            lineNumber++;
+            if (line != OVERLONG_ROW && line.isBlank()) {
+                continue;
+            }
+            if (firstRow && line != OVERLONG_ROW && format == ImportFormat.CSV
+                    && splitCsv(line).get(0).equalsIgnoreCase(headerColumn)) {
+                firstRow = false;
+                continue;
+            }
+            firstRow = false;
+            lineNumbers[lines.size()] = lineNumber;
+            lines.add(line);
+            if (lines.size() == batchSize) {
+                if (!processBatch(lines, lineNumbers, parser, insert, report)) {
+                    aborted = true;
+                    break;
+                }
+                lines.clear();
+            }
+        }
+        if (!lines.isEmpty() && !aborted) {
+            aborted = !processBatch(lines, lineNumbers, parser, insert, report);
+        }
+        if (aborted) {
+            log.warn("Bulk import aborted after {} rows: {} imported, {} failed", report.rows, report.rows - report.failed, report.failed);
+        } else {
+            log.info("Bulk import finished: {} rows, {} imported, {} failed", report.rows, report.rows - report.failed, report.failed);
+        }
+        return new ImportReport(report.rows, report.rows - report.failed, report.failed, report.errors,
+                report.failed - report.failedRangeRows > report.errors.size(), aborted, report.failedRanges);
+    }
+
+    /**
+     * Reads one line, without its terminator, into {@code buffer}; a line longer than
+     * {@code maxLength} is read to its end but not kept, and comes back as {@link #OVERLONG_ROW}.
+     *
+     * @return null at the end of the input
+     */
+    private static String readLine(BufferedReader reader, StringBuilder buffer, int maxLength) throws IOException {
+        buffer.setLength(0);
+        boolean overlong = false;
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n' && c != '\r') {
+            if (buffer.length() < maxLength) {
+                buffer.append((char) c);
+            } else {
+                overlong = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        return overlong ? OVERLONG_ROW : buffer.toString();
+    }
+
+    /**
+     * Returns false when any slice failed to insert or any row failed to persist; the rest
+     * of the batch is still reported.
+     */
+    private <T> boolean processBatch(List<String> lines, long[] lineNumbers, RowParser<T> parser,
+                                     Function<List<T>, List<ImportRowError>> insert, Report report) {
+        int slices = Math.min(Math.max(1, properties.getThreads()), lines.size());
+        int sliceSize = (lines.size() + slices - 1) / slices;
+        List<Future<List<ImportRowError>>> results = new ArrayList<>(slices);
+        for (int start = 0; start < lines.size(); start += sliceSize) {
+            int from = start;
+            int to = Math.min(lines.size(), start + sliceSize);
+            results.add(executor.submit(() -> processSlice(lines, lineNumbers, from, to, parser, insert)));
+        }
+        boolean ok = true;
+        for (int slice = 0; slice < results.size(); slice++) {
+            try {
+                List<ImportRowError> errors = results.get(slice).get();
+                for (ImportRowError error : errors) {
+                    if (error.getCode() == ErrorCode.SYSTEM_ERROR.getCode()) {
+                        ok = false;
+                    }
+                }
+                report.add(errors);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "Import interrupted");
+            } catch (ExecutionException e) {
+                int from = slice * sliceSize;
+                int to = Math.min(lines.size(), from + sliceSize);
+                log.error("Bulk import failed to insert rows {}-{}", lineNumbers[from], lineNumbers[to - 1], e.getCause());
+                report.addFailedRange(new ImportFailedRange(lineNumbers[from], lineNumbers[to - 1], to - from,
+                        StringUtils.defaultIfBlank(rootMessage(e.getCause()), "Insert failed")));
+                ok = false;
+            }
+        }
+        report.rows += lines.size();
+        return ok;
+    }
+
+    private static String rootMessage(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    /** Parses and inserts {@code lines[from, to)}; returns the rejected rows in file order. */
+    private <T> List<ImportRowError> processSlice(List<String> lines, long[] lineNumbers, int from, int to,
+                                                  RowParser<T> parser, Function<List<T>, List<ImportRowError>> insert) {
+        List<ImportRowError> errors = new ArrayList<>();
+        List<T> parsed = new ArrayList<>(to - from);
+        long[] parsedLines = new long[to - from];
+        for (int i = from; i < to; i++) {
+            try {
+                parsedLines[parsed.size()] = lineNumbers[i];
+                parsed.add(parser.parse(lines.get(i)));
+            } catch (Exception e) {
+                errors.add(new ImportRowError(lineNumbers[i], ErrorCode.PARAMS_ERROR.getCode(), "Malformed row: " + StringUtils.substringBefore(e.getMessage(), "\n")));
+            }
+        }
+        List<ImportRowError> rejected;
+        try {
+            rejected = insert.apply(parsed);
+        } catch (CompletionException | BusinessException e) {
+            throw new IllegalStateException("Failed to insert rows " + lineNumbers[from] + "-" + lineNumbers[to - 1], e);
+        }
+        for (ImportRowError error : rejected) {
+            error.setRow(parsedLines[(int) error.getRow()]);
+            errors.add(error);
+        }
+        errors.sort((a, b) -> Long.compare(a.getRow(), b.getRow()));
+        return errors;
+    }
+
+    @FunctionalInterface
+    private interface RowParser<T> {
+        T parse(String line) throws Exception;
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private final List<ImportFailedRange> failedRanges = new ArrayList<>();
+        private long rows;
+        private long failed;
+        private long failedRangeRows;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void add(List<ImportRowError> batchErrors) {
+            failed += batchErrors.size();
+            for (ImportRowError error : batchErrors) {
+                if (errors.size() >= maxErrors) {
+                    return;
+                }
+                errors.add(error);
+            }
+        }
+
+        void addFailedRange(ImportFailedRange range) {
+            failedRanges.add(range);
+            failed += range.getRows();
+            failedRangeRows += range.getRows();
+        }
+    }
+}
@@ -1,56 +1,378 @@
 package com.erika.minicasino.service.impl;
 
 import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.config.CasinoProperties;
 import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.metrics.BetMetrics;
+import com.erika.minicasino.model.AccountEvent;
 import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetRequest;
+import com.erika.minicasino.model.BetResult;
+import com.erika.minicasino.model.BetSummaryWindow;
 import com.erika.minicasino.model.BetSummery;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.CursorPage;
+import com.erika.minicasino.model.DepositRequest;
+import com.erika.minicasino.model.ImportRowError;
 import com.erika.minicasino.model.Game;
 import com.erika.minicasino.model.User;
+import com.erika.minicasino.rng.OutcomeRng;
+import com.erika.minicasino.service.AccountEventListener;
 import com.erika.minicasino.service.GameService;
 import com.erika.minicasino.service.UserService;
+import com.erika.minicasino.service.WalletService;
+import com.erika.minicasino.stats.UserBetStats;
+import com.erika.minicasino.store.BetHistoryPage;
+import com.erika.minicasino.store.BetHistoryStore;
+import com.erika.minicasino.store.Ledger;
+import com.erika.minicasino.store.LedgerCompactor;
+import com.erika.minicasino.store.LedgerRecord;
+import com.erika.minicasino.store.LedgerState;
+import com.erika.minicasino.store.SnapshotStore;
+import com.erika.minicasino.store.UserRegistry;
+import com.erika.minicasino.utils.MoneyUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class UserServiceImpl implements UserService {
+    /** Longest name or username, in chars; well within the ledger's and snapshot's string limit. */
+    public static final int MAX_NAME_LENGTH = 100;
+    /** Largest single deposit or opening balance, in EUR; keeps wallets far from overflowing a long of cents. */
+    public static final double MAX_DEPOSIT = 1_000_000_000_000.0;
+
     private final GameService gameService;
-    private final Map<String, User> users = new HashMap<>();
-    private final Random random = new Random();
+    private final WalletService walletService;
+    private final CasinoProperties properties;
+    private final CasinoProperties.Bet betProperties;
+    private final UserRegistry users;
+    private final BetHistoryStore betHistory;
+    private final OutcomeRng outcomeRng;
+    private final Map<Long, BetTicket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong ticketSequence = new AtomicLong();
+    private final ScheduledExecutorService settlementExecutor;
+    /** Finishes bets after their ledger write, keeping the single ledger writer thread for I/O. */
+    private final ExecutorService completionExecutor;
+    private Ledger ledger;
+    private ScheduledExecutorService snapshotExecutor;
+    private List<AccountEventListener> eventListeners = List.of();
+    private BetMetrics metrics = BetMetrics.NOOP;
+    /** Accepted bets not yet settled. */
+    private final AtomicLong inFlightBets = new AtomicLong();
+    /** Total the house would pay out, in minor units, if every bet in flight won. */
+    private final LongAdder exposure = new LongAdder();
 
     public UserServiceImpl(GameService gameService) {
+        this(gameService, new CasinoProperties());
+    }
+
+    public UserServiceImpl(GameService gameService, CasinoProperties properties) {
+        this(gameService, new WalletServiceImpl(), properties);
+    }
+
+    @Autowired
+    public UserServiceImpl(GameService gameService, WalletService walletService, CasinoProperties properties) {
         this.gameService = gameService;
+        this.walletService = walletService;
+        this.properties = properties;
+        this.betProperties = properties.getBet();
+        this.outcomeRng = OutcomeRng.create(betProperties.getRngAlgorithm(), betProperties.getRngSeed());
+        this.users = new UserRegistry(properties.getRegistry().getShards(), properties.getRegistry().getExpectedUsers());
+        this.betHistory = new BetHistoryStore(properties.getHistory().getRetention(), properties.getHistory().isOffHeap());
+        this.settlementExecutor = Executors.newScheduledThreadPool(
+                Math.max(1, betProperties.getSettlementThreads()), daemonThreadFactory("bet-settlement-"));
+        this.completionExecutor = Executors.newFixedThreadPool(
+                Math.max(1, betProperties.getCompletionThreads()), daemonThreadFactory("bet-completion-"));
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Rebuilds users, wallets, bet history and aggregates from the latest snapshot and
+     * the ledger written since, if enabled, and keeps the ledger open for appends. Bets
+     * that were still pending when the previous process stopped are refunded.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        CasinoProperties.Ledger ledgerProperties = properties.getLedger();
+        if (!ledgerProperties.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(ledgerProperties.getDirectory());
+        long started = System.nanoTime();
+        LedgerState state = new LedgerState(betHistory);
+        long fromSegment = SnapshotStore.loadLatest(directory, state);
+        long snapshotLoaded = System.nanoTime();
+        AtomicLong replayed = new AtomicLong();
+        ledger = Ledger.open(directory, ledgerProperties.isFsync(), ledgerProperties.getMaxBatch(), fromSegment,
+                record -> {
+                    state.apply(record);
+                    replayed.incrementAndGet();
+                });
+        long ledgerReplayed = System.nanoTime();
+        restore(state);
+        log.info("Restored {} users in {} ms (snapshot {} ms, {} ledger entries replayed in {} ms)", users.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                TimeUnit.NANOSECONDS.toMillis(snapshotLoaded - started), replayed.get(),
+                TimeUnit.NANOSECONDS.toMillis(ledgerReplayed - snapshotLoaded));
+        long interval = ledgerProperties.getSnapshotIntervalMs();
+        if (interval > 0) {
+            LedgerCompactor compactor = new LedgerCompactor(directory, ledger, properties.getHistory().getRetention());
+            snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ledger-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotExecutor.scheduleWithFixedDelay(() -> snapshot(compactor), interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void snapshot(LedgerCompactor compactor) {
+        try {
+            long started = System.nanoTime();
+            long segment = compactor.compact();
+            log.info("Wrote ledger snapshot up to segment {} in {} ms", segment,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write a ledger snapshot", e);
+        }
+    }
+
+    private void restore(LedgerState state) {
+        for (LedgerState.Account account : state.getAccounts()) {
+            User user = account.getUser();
+            if (user == null) {
+                log.warn("Ledger holds entries for an unregistered user; skipping them");
+                continue;
+            }
+            // Pending reservations are released below, so they count as available again
+            walletService.openAccount(user.getUsername(), account.getAvailable() + account.getReserved());
+            users.register(user);
+        }
+        List<CompletableFuture<Void>> releases = new ArrayList<>();
+        for (LedgerRecord pending : state.getPendingBets()) {
+            releases.add(ledger.append(LedgerRecord.release(pending.getTicketId(), pending.getUsername(), pending.getAmount())));
+        }
+        releases.forEach(CompletableFuture::join);
+        if (!releases.isEmpty()) {
+            log.info("Refunded {} bets that were pending at shutdown", releases.size());
+        }
+        ticketSequence.set(state.getLastTicketId());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        settlementExecutor.shutdownNow();
+        completionExecutor.shutdown();
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+        }
+        if (ledger != null) {
+            ledger.close();
+        }
+    }
+
+    /** Registers the listeners told about every durable deposit, bet placement and settlement. */
+    @Autowired(required = false)
+    public void setAccountEventListeners(List<AccountEventListener> listeners) {
+        this.eventListeners = List.copyOf(listeners);
+    }
+
+    /** Registers the bet meters and the user and exposure gauges with {@code registry}. */
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry registry) {
+        this.metrics = new BetMetrics(registry);
+        Gauge.builder("minicasino.bets.in.flight", inFlightBets, AtomicLong::get)
+                .description("Bets accepted and not yet settled")
+                .register(registry);
+        Gauge.builder("minicasino.house.exposure", exposure, adder -> MoneyUtils.toMajorUnits(adder.sum()))
+                .description("Total payout owed if every bet in flight won")
+                .baseUnit("EUR")
+                .register(registry);
+        Gauge.builder("minicasino.users.registered", users, UserRegistry::size)
+                .description("Registered players")
+                .register(registry);
+    }
+
+    private void publish(AccountEvent event) {
+        for (AccountEventListener listener : eventListeners) {
+            try {
+                listener.onAccountEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Account event listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private double balanceOf(String username) {
+        return MoneyUtils.toMajorUnits(walletService.getBalance(username));
+    }
+
+    private CompletableFuture<Void> record(LedgerRecord record) {
+        return ledger == null ? CompletableFuture.completedFuture(null) : ledger.append(record);
+    }
+
+    /**
+     * Where to run the work that follows {@code write}: inline when it is already durable
+     * (as it always is without a ledger), otherwise on the completion pool rather than the
+     * ledger writer thread that completes it.
+     */
+    private Executor afterWrite(CompletableFuture<Void> write) {
+        return write.isDone() ? Runnable::run : completionExecutor;
+    }
+
+    private static void awaitDurable(CompletableFuture<Void> write) {
+        try {
+            write.join();
+        } catch (CompletionException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "Failed to persist the operation", e.getCause());
+        }
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return new ArrayList<>(users.values()); // Convert Map values to List
+    public CursorPage<User> getUsers(long cursor, int limit) {
+        return users.page(cursor, limit);
+    }
+
+    @Override
+    public Stream<User> streamUsers() {
+        return users.stream();
+    }
+
+    @Override
+    public long getUserCount() {
+        return users.size();
     }
 
     @Override
     public User registerUser(User user) {
-        String username = user.getUsername();
-        if(StringUtils.isAnyBlank(user.getName(),username)||user.getBirthdate()==null){
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Parameter cannot be null!");
+        Rejection rejection = checkNewUser(user, LocalDate.now().minusYears(18));
+        if (rejection != null) {
+            throw BusinessException.rejection(rejection.errorCode, rejection.description);
         }
-        if (users.containsKey(username)) {
-            throw new BusinessException(ErrorCode.DUPLICATE_DATA, "Username already exists!");
+        if (!openAccount(user)) {
+            throw BusinessException.rejection(ErrorCode.DUPLICATE_DATA, "Username already exists!");
         }
-        if (LocalDate.now().minusYears(18).isBefore(user.getBirthdate())) {
-            throw new BusinessException(ErrorCode.NO_AUTH, "User must be at least 18 years old.");
-        }
-        users.put(username, user);
+        // Visible only once durable, so no other entry for the user can precede it and a failed write leaves no user behind
+        completeRegistration(user, recordRegistration(user));
         return user;
     }
 
+    /**
+     * Publishes the user once {@code write} is durable; if it fails, closes the wallet
+     * {@link #openAccount} reserved the username with and throws.
+     */
+    private void completeRegistration(User user, CompletableFuture<Void> write) {
+        try {
+            awaitDurable(write);
+        } catch (BusinessException e) {
+            walletService.closeAccount(user.getUsername());
+            throw e;
+        }
+        users.register(user);
+    }
+
+    /**
+     * Bulk variant of {@link #registerUser}: the age cut-off is computed once, and the
+     * ledger entries of the whole batch share one group commit.
+     */
+    @Override
+    public List<ImportRowError> registerUsers(List<User> batch) {
+        LocalDate adultCutoff = LocalDate.now().minusYears(18);
+        List<ImportRowError> errors = new ArrayList<>();
+        List<User> registered = new ArrayList<>(batch.size());
+        List<Integer> rows = new ArrayList<>(batch.size());
+        List<CompletableFuture<Void>> writes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            User user = batch.get(i);
+            Rejection rejection = checkNewUser(user, adultCutoff);
+            if (rejection == null && !openAccount(user)) {
+                rejection = new Rejection(ErrorCode.DUPLICATE_DATA, "Username already exists!");
+            }
+            if (rejection != null) {
+                errors.add(new ImportRowError(i, rejection.errorCode.getCode(), rejection.description));
+                continue;
+            }
+            registered.add(user);
+            rows.add(i);
+            writes.add(recordRegistration(user));
+        }
+        for (int i = 0; i < registered.size(); i++) {
+            try {
+                completeRegistration(registered.get(i), writes.get(i));
+            } catch (BusinessException e) {
+                log.error("Failed to persist the registration of {}", registered.get(i).getUsername(), e.getCause());
+                errors.add(new ImportRowError(rows.get(i), e.getCode(), e.getDescription()));
+            }
+        }
+        errors.sort((a, b) -> Long.compare(a.getRow(), b.getRow()));
+        return errors;
+    }
+
+    private static Rejection checkNewUser(User user, LocalDate adultCutoff) {
+        if (user == null || StringUtils.isAnyBlank(user.getName(), user.getUsername()) || user.getBirthdate() == null) {
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Parameter cannot be null!");
+        }
+        if (user.getName().length() > MAX_NAME_LENGTH || user.getUsername().length() > MAX_NAME_LENGTH) {
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Name and username must be at most " + MAX_NAME_LENGTH + " characters.");
+        }
+        if (!(user.getBalance() >= 0) || user.getBalance() > MAX_DEPOSIT) {
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Opening balance must be between 0 and " + MAX_DEPOSIT + ".");
+        }
+        if (adultCutoff.isBefore(user.getBirthdate())) {
+            return new Rejection(ErrorCode.NO_AUTH, "User must be at least 18 years old.");
+        }
+        return null;
+    }
+
+    /** Opens the wallet first, so that every user visible in the registry has one. */
+    private boolean openAccount(User user) {
+        return walletService.openAccount(user.getUsername(), MoneyUtils.toMinorUnits(user.getBalance()));
+    }
+
+    private CompletableFuture<Void> recordRegistration(User user) {
+        return record(LedgerRecord.register(user.getUsername(), user.getName(), user.getBirthdate(),
+                MoneyUtils.toMinorUnits(user.getBalance())));
+    }
+
     @Override
     public User getUser(String username) {
         User user = users.get(username);
         if (user == null) {
-            throw new BusinessException(ErrorCode.NO_AUTH, "User not found");
+            throw BusinessException.rejection(ErrorCode.NO_AUTH, "User not found");
         }
         return user;
     }
@@ -58,49 +380,347 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deposit(String username, double amount) {
         User user = users.get(username);
-        if (user == null) throw new BusinessException(ErrorCode.NO_AUTH, "User not found!");
-        if (amount <= 0) throw new BusinessException(ErrorCode.PARAMS_ERROR,"Deposit amount must be positive.");
-        user.setBalance(user.getBalance() + amount);
+        if (user == null) throw BusinessException.rejection(ErrorCode.NO_AUTH, "User not found!");
+        Rejection rejection = checkDeposit(amount);
+        if (rejection != null) throw BusinessException.rejection(rejection.errorCode, rejection.description);
+        long minorUnits = MoneyUtils.toMinorUnits(amount);
+        // Credited only once durable, so a failed write leaves nothing to take back and a retry is not credited twice
+        awaitDurable(record(LedgerRecord.deposit(username, minorUnits)));
+        walletService.credit(username, minorUnits);
+        publish(AccountEvent.deposit(username, amount, balanceOf(username)));
+    }
+
+    private static Rejection checkDeposit(double amount) {
+        if (!(amount > 0)) {
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Deposit amount must be positive.");
+        }
+        if (amount > MAX_DEPOSIT) {
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Deposit amount cannot exceed " + MAX_DEPOSIT + ".");
+        }
+        return null;
+    }
+
+    @Override
+    public List<ImportRowError> deposit(List<DepositRequest> deposits) {
+        List<ImportRowError> errors = new ArrayList<>();
+        List<CompletableFuture<Void>> writes = new ArrayList<>(deposits.size());
+        List<DepositRequest> applied = new ArrayList<>(deposits.size());
+        List<Integer> rows = new ArrayList<>(deposits.size());
+        for (int i = 0; i < deposits.size(); i++) {
+            DepositRequest deposit = deposits.get(i);
+            if (deposit == null || deposit.getUsername() == null || users.get(deposit.getUsername()) == null) {
+                errors.add(new ImportRowError(i, ErrorCode.NO_AUTH.getCode(), "User not found!"));
+                continue;
+            }
+            Rejection rejection = checkDeposit(deposit.getAmount());
+            if (rejection != null) {
+                errors.add(new ImportRowError(i, rejection.errorCode.getCode(), rejection.description));
+                continue;
+            }
+            writes.add(record(LedgerRecord.deposit(deposit.getUsername(), MoneyUtils.toMinorUnits(deposit.getAmount()))));
+            applied.add(deposit);
+            rows.add(i);
+        }
+        for (int i = 0; i < applied.size(); i++) {
+            DepositRequest deposit = applied.get(i);
+            try {
+                awaitDurable(writes.get(i));
+            } catch (BusinessException e) {
+                log.error("Failed to persist a deposit for {}", deposit.getUsername(), e.getCause());
+                errors.add(new ImportRowError(rows.get(i), e.getCode(), e.getDescription()));
+                continue;
+            }
+            walletService.credit(deposit.getUsername(), MoneyUtils.toMinorUnits(deposit.getAmount()));
+            publish(AccountEvent.deposit(deposit.getUsername(), deposit.getAmount(), balanceOf(deposit.getUsername())));
+        }
+        errors.sort((a, b) -> Long.compare(a.getRow(), b.getRow()));
+        return errors;
+    }
+
+    @Override
+    public double getBalance(String username) {
+        getUser(username);
+        return MoneyUtils.toMajorUnits(walletService.getBalance(username));
+    }
+
+    @Override
+    public BetTicket placeBet(String username, long gameId, double betAmount) {
+        return tryPlaceBet(username, gameId, betAmount).orElseThrow();
+    }
+
+    /**
+     * Validates the bet, reserves the stake and hands the bet over to the settlement
+     * executor. Returns immediately with a ticket; the outcome is published on the ticket.
+     * A rejected bet comes back as a failed result rather than an exception.
+     */
+    @Override
+    public ServiceResult<BetTicket> tryPlaceBet(String username, long gameId, double betAmount) {
+        try {
+            return placeBetAsync(username, gameId, betAmount).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BusinessException) {
+                throw (BusinessException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #tryPlaceBet}, without waiting for the reservation to become durable:
+     * the future completes on a bet completion thread once it is, so no caller thread is
+     * held while the group commit runs. If the write fails the stake is released and the
+     * future fails with a {@link BusinessException}.
+     */
+    @Override
+    public CompletableFuture<ServiceResult<BetTicket>> placeBetAsync(String username, long gameId, double betAmount) {
+        long started = System.nanoTime();
+        User user = users.get(username);
+        if (user == null) {
+            return rejectBet(ErrorCode.NO_AUTH, "User not found");
+        }
+        Game game = gameService.findGameById(gameId);
+        Rejection rejection = checkBet(game, betAmount);
+        if (rejection != null) {
+            return rejectBet(rejection.errorCode, rejection.description);
+        }
+        long validated = System.nanoTime();
+        metrics.validated(validated - started);
+        long stake = MoneyUtils.toMinorUnits(betAmount);
+        if (!walletService.reserve(username, stake)) {
+            return rejectBet(ErrorCode.SYSTEM_ERROR, "Insufficient balance");
+        }
+        BetTicket ticket = new BetTicket(ticketSequence.incrementAndGet(), username, gameId, betAmount);
+        CompletableFuture<Void> write = record(LedgerRecord.reserve(ticket.getTicketId(), username, gameId, stake));
+        return write.handleAsync((ignored, error) -> {
+                if (error != null) {
+                    walletService.release(username, stake);
+                    metrics.rejected(ErrorCode.SYSTEM_ERROR);
+                    throw new CompletionException(new BusinessException(ErrorCode.SYSTEM_ERROR,
+                            "Failed to persist the operation", error instanceof CompletionException ? error.getCause() : error));
+                }
+                metrics.reserved(System.nanoTime() - validated);
+                accept(game, ticket, stake);
+                publish(AccountEvent.betPlaced(ticket, balanceOf(username)));
+                scheduleSettlement(() -> settle(user, game, ticket));
+                return ServiceResult.ok(ticket);
+            }, afterWrite(write));
     }
 
+    /**
+     * Places many bets in one pass: users and games are looked up once per batch, the
+     * reservations share a single ledger commit, and the accepted bets are settled
+     * together. A rejected bet does not affect the others.
+     */
     @Override
-    public BetRecord placeBet(String username, long gameId, double betAmount) throws InterruptedException {
-        User user = getUser(username);
-        if (betAmount <= 0) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Bet amount must be greater than 0");
+    public List<BetResult> placeBets(List<BetRequest> bets) {
+        BetResult[] results = new BetResult[bets.size()];
+        Map<String, User> batchUsers = new HashMap<>();
+        List<PlacedBet> placed = new ArrayList<>(bets.size());
+        List<CompletableFuture<Void>> writes = new ArrayList<>(bets.size());
+        for (int i = 0; i < results.length; i++) {
+            BetRequest bet = bets.get(i);
+            String username = bet.getUsername();
+            User user = username == null ? null : batchUsers.computeIfAbsent(username, users::get);
+            if (user == null) {
+                results[i] = rejectBatchedBet(ErrorCode.NO_AUTH, "User not found");
+                continue;
+            }
+            Game game = gameService.findGameById(bet.getGameId());
+            Rejection rejection = checkBet(game, bet.getAmount());
+            if (rejection != null) {
+                results[i] = rejectBatchedBet(rejection.errorCode, rejection.description);
+                continue;
+            }
+            long stake = MoneyUtils.toMinorUnits(bet.getAmount());
+            if (!walletService.reserve(username, stake)) {
+                results[i] = rejectBatchedBet(ErrorCode.SYSTEM_ERROR, "Insufficient balance");
+                continue;
+            }
+            BetTicket ticket = new BetTicket(ticketSequence.incrementAndGet(), username, bet.getGameId(), bet.getAmount());
+            placed.add(new PlacedBet(i, user, game, ticket, stake));
+            writes.add(record(LedgerRecord.reserve(ticket.getTicketId(), username, bet.getGameId(), stake)));
+        }
+        List<PlacedBet> accepted = new ArrayList<>(placed.size());
+        for (int i = 0; i < placed.size(); i++) {
+            PlacedBet bet = placed.get(i);
+            try {
+                writes.get(i).join();
+            } catch (CompletionException e) {
+                log.error("Failed to persist the reservation of ticket {}", bet.ticket.getTicketId(), e.getCause());
+                walletService.release(bet.ticket.getUsername(), bet.stake);
+                results[bet.index] = rejectBatchedBet(ErrorCode.SYSTEM_ERROR, "Failed to persist the operation");
+                continue;
+            }
+            accept(bet.game, bet.ticket, bet.stake);
+            results[bet.index] = BetResult.accepted(bet.ticket.getTicketId());
+            accepted.add(bet);
+            publish(AccountEvent.betPlaced(bet.ticket, balanceOf(bet.ticket.getUsername())));
+        }
+        if (!accepted.isEmpty()) {
+            scheduleSettlement(() -> {
+                for (PlacedBet bet : accepted) {
+                    settle(bet.user, bet.game, bet.ticket);
+                }
+            });
         }
-        if (user.getBalance() < betAmount) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR,"Insufficient balance");
+        return Arrays.asList(results);
+    }
+
+    private CompletableFuture<ServiceResult<BetTicket>> rejectBet(ErrorCode errorCode, String description) {
+        metrics.rejected(errorCode);
+        return CompletableFuture.completedFuture(ServiceResult.rejected(errorCode, description));
+    }
+
+    private BetResult rejectBatchedBet(ErrorCode errorCode, String description) {
+        metrics.rejected(errorCode);
+        return BetResult.rejected(errorCode, description);
+    }
+
+    /** Makes a durable bet visible to pollers and counts it as in flight until it settles. */
+    private void accept(Game game, BetTicket ticket, long stake) {
+        tickets.put(ticket.getTicketId(), ticket);
+        inFlightBets.incrementAndGet();
+        exposure.add(maxPayout(game, stake));
+        metrics.accepted(ticket.getGameId(), ticket.getAmountBet());
+    }
+
+    private static long maxPayout(Game game, long stake) {
+        return Math.round(stake * game.getWinningMultiplier());
+    }
+
+    /** Returns why a bet on {@code game} cannot be accepted, or null if it can. */
+    private static Rejection checkBet(Game game, double betAmount) {
+        if (betAmount <= 0) {
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Bet amount must be greater than 0");
         }
-        Game game = gameService.getGameById(gameId);
         if (game == null) {
-            throw new BusinessException(ErrorCode.NULL_ERROR, "Game not found");
+            return new Rejection(ErrorCode.NULL_ERROR, "Game not found");
         }
         if (betAmount < game.getMinBet() || betAmount > game.getMaxBet()) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Bet not within game limits.");
+            return new Rejection(ErrorCode.PARAMS_ERROR, "Bet not within game limits.");
         }
-        double number = user.getBalance();
-        Thread.sleep(10000);
-        user.setBalance(number-betAmount);
-        boolean win = random.nextDouble()<game.getChanceOfWinning();
+        return null;
+    }
+
+    private static final class Rejection {
+        final ErrorCode errorCode;
+        final String description;
+
+        Rejection(ErrorCode errorCode, String description) {
+            this.errorCode = errorCode;
+            this.description = description;
+        }
+    }
+
+    private static final class PlacedBet {
+        final int index;
+        final User user;
+        final Game game;
+        final BetTicket ticket;
+        final long stake;
+
+        PlacedBet(int index, User user, Game game, BetTicket ticket, long stake) {
+            this.index = index;
+            this.user = user;
+            this.game = game;
+            this.ticket = ticket;
+            this.stake = stake;
+        }
+    }
+
+    private void scheduleSettlement(Runnable settlement) {
+        // Settlements never block, so they run on the scheduler threads, each drawing from its own generator
+        settlementExecutor.schedule(settlement, betProperties.getSettlementDelayMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void settle(User user, Game game, BetTicket ticket) {
+        long started = System.nanoTime();
+        double betAmount = ticket.getAmountBet();
+        boolean win = outcomeRng.nextDouble(ticket.getTicketId()) < game.getChanceOfWinning();
         double amountWon=0.0;
         if(win){
             amountWon = betAmount * game.getWinningMultiplier();
-            user.setBalance(user.getBalance() + amountWon);
         }
-        BetRecord betRecord = new BetRecord(gameId,betAmount,amountWon,win);
-        user.addBetRecord(betRecord);
-        return betRecord;
+        long settledAt = System.currentTimeMillis();
+        BetRecord betRecord = new BetRecord(ticket.getGameId(),betAmount,amountWon,win,settledAt);
+        long stake = MoneyUtils.toMinorUnits(betAmount);
+        long payout = MoneyUtils.toMinorUnits(amountWon);
+        walletService.commit(ticket.getUsername(), stake);
+        if (win) {
+            walletService.credit(ticket.getUsername(), payout);
+        }
+        betHistory.append(ticket.getUsername(), ticket.getGameId(), stake, payout, win, settledAt);
+        user.getBetStats().record(ticket.getGameId(), stake, payout, settledAt);
+        CompletableFuture<Void> write = record(LedgerRecord.settle(ticket.getTicketId(), ticket.getUsername(),
+                ticket.getGameId(), stake, payout, win, settledAt));
+        write.whenCompleteAsync((ignored, error) -> {
+                if (error != null) {
+                    log.error("Failed to persist settlement of ticket {}", ticket.getTicketId(), error);
+                }
+                metrics.settled(System.nanoTime() - started);
+                inFlightBets.decrementAndGet();
+                exposure.add(-maxPayout(game, stake));
+                publish(AccountEvent.betSettled(ticket, betRecord, balanceOf(ticket.getUsername())));
+                ticket.settle(betRecord);
+                settlementExecutor.schedule(() -> tickets.remove(ticket.getTicketId()),
+                        betProperties.getTicketRetentionMs(), TimeUnit.MILLISECONDS);
+            }, afterWrite(write));
+    }
+
+    @Override
+    public BetTicket getBetTicket(long ticketId) {
+        BetTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            throw BusinessException.rejection(ErrorCode.NULL_ERROR, "Bet ticket not found");
+        }
+        return ticket;
+    }
+
+    /**
+     * Completes once the ticket is settled, or with the still pending ticket after
+     * {@code waitMs} (capped by the configured maximum poll wait).
+     */
+    @Override
+    public CompletableFuture<BetTicket> awaitBetTicket(long ticketId, long waitMs) {
+        BetTicket ticket = getBetTicket(ticketId);
+        long wait = Math.min(Math.max(waitMs, 0), betProperties.getMaxPollWaitMs());
+        if (wait == 0 || ticket.getSettlement().isDone()) {
+            return CompletableFuture.completedFuture(ticket);
+        }
+        return ticket.getSettlement().copy().completeOnTimeout(ticket, wait, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public BetHistoryPage getBetHistory(String username, int offset, int limit) {
+        getUser(username);
+        return betHistory.recent(username, offset, limit);
     }
 
     @Override
     public BetSummery getBetSummary(String username) {
-        User user = getUser(username);
-        List<BetRecord> history = user.getBetHistory();
-        int numberOfBets = history.size();
-        double totalBet = history.stream().mapToDouble(BetRecord::getAmountBet).sum();
-        double totalWon = history.stream().mapToDouble(BetRecord::getAmountWon).sum();
-        return new BetSummery(numberOfBets, totalBet, totalWon);
+        return getUser(username).getBetStats().getAllTime().toSummary();
+    }
+
+    @Override
+    public BetSummery getBetSummary(String username, BetSummaryWindow window) {
+        UserBetStats stats = getUser(username).getBetStats();
+        long now = System.currentTimeMillis();
+        switch (window) {
+            case HOUR:
+                return stats.getLastHour(now).toSummary();
+            case DAY:
+                return stats.getLastDay(now).toSummary();
+            default:
+                return stats.getAllTime().toSummary();
+        }
+    }
+
+    @Override
+    public Map<Long, BetSummery> getBetSummaryByGame(String username) {
+        Map<Long, BetSummery> result = new TreeMap<>();
+        getUser(username).getBetStats().getPerGame()
+                .forEach((gameId, totals) -> result.put(gameId, totals.toSummary()));
+        return result;
     }
 
 }
@@ -0,0 +1,135 @@
+package com.erika.minicasino.service.impl;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.service.WalletService;
+import org.springframework.stereotype.Service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lock-free wallet: every account is a pair of CAS-updated long cells, so
+ * operations on different users never contend and operations on the same user
+ * only retry on a lost CAS.
+ */
+@Service
+public class WalletServiceImpl implements WalletService {
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean openAccount(String username, long openingBalance) {
+        if (openingBalance < 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Opening balance cannot be negative.");
+        }
+        return accounts.putIfAbsent(username, new Account(openingBalance)) == null;
+    }
+
+    @Override
+    public void closeAccount(String username) {
+        accounts.remove(username);
+    }
+
+    @Override
+    public long getBalance(String username) {
+        return account(username).available;
+    }
+
+    @Override
+    public long getReserved(String username) {
+        return account(username).reserved;
+    }
+
+    @Override
+    public void credit(String username, long amount) {
+        requirePositive(amount);
+        Account account = account(username);
+        long available;
+        long credited;
+        do {
+            available = account.available;
+            try {
+                credited = Math.addExact(available, amount);
+            } catch (ArithmeticException e) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "Balance would exceed the largest supported amount.");
+            }
+        } while (!Account.AVAILABLE.compareAndSet(account, available, credited));
+    }
+
+    @Override
+    public boolean reserve(String username, long amount) {
+        requirePositive(amount);
+        Account account = account(username);
+        long available;
+        do {
+            available = account.available;
+            if (available < amount) {
+                return false;
+            }
+        } while (!Account.AVAILABLE.compareAndSet(account, available, available - amount));
+        Account.RESERVED.getAndAdd(account, amount);
+        return true;
+    }
+
+    @Override
+    public void commit(String username, long amount) {
+        requirePositive(amount);
+        takeReserved(account(username), amount);
+    }
+
+    @Override
+    public void release(String username, long amount) {
+        requirePositive(amount);
+        Account account = account(username);
+        takeReserved(account, amount);
+        Account.AVAILABLE.getAndAdd(account, amount);
+    }
+
+    private static void takeReserved(Account account, long amount) {
+        long reserved;
+        do {
+            reserved = account.reserved;
+            if (reserved < amount) {
+                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "Reserved funds exceeded");
+            }
+        } while (!Account.RESERVED.compareAndSet(account, reserved, reserved - amount));
+    }
+
+    private Account account(String username) {
+        Account account = accounts.get(username);
+        if (account == null) {
+            throw new BusinessException(ErrorCode.NO_AUTH, "Wallet not found");
+        }
+        return account;
+    }
+
+    private static void requirePositive(long amount) {
+        if (amount <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "Amount must be positive.");
+        }
+    }
+
+    private static final class Account {
+        static final VarHandle AVAILABLE;
+        static final VarHandle RESERVED;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                AVAILABLE = lookup.findVarHandle(Account.class, "available", long.class);
+                RESERVED = lookup.findVarHandle(Account.class, "reserved", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        volatile long available;
+        volatile long reserved;
+
+        Account(long available) {
+            this.available = available;
+        }
+    }
+}
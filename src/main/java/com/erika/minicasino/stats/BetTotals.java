@@ -0,0 +1,60 @@
+package com.erika.minicasino.stats;
+
+import com.erika.minicasino.model.BetSummery;
+import com.erika.minicasino.utils.MoneyUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Immutable bet counters in minor units. Aggregates swap whole instances with CAS,
+ * so count and amounts are always read as a consistent triple.
+ */
+public final class BetTotals {
+    public static final BetTotals EMPTY = new BetTotals(0, 0, 0);
+
+    private final long count;
+    private final long totalBet;
+    private final long totalWon;
+
+    public BetTotals(long count, long totalBet, long totalWon) {
+        this.count = count;
+        this.totalBet = totalBet;
+        this.totalWon = totalWon;
+    }
+
+    public BetTotals plus(long amountBet, long amountWon) {
+        return new BetTotals(count + 1, totalBet + amountBet, totalWon + amountWon);
+    }
+
+    public BetTotals plus(BetTotals other) {
+        return new BetTotals(count + other.count, totalBet + other.totalBet, totalWon + other.totalWon);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalBet() {
+        return totalBet;
+    }
+
+    public long getTotalWon() {
+        return totalWon;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(totalBet);
+        out.writeLong(totalWon);
+    }
+
+    public static BetTotals readFrom(DataInput in) throws IOException {
+        return new BetTotals(in.readLong(), in.readLong(), in.readLong());
+    }
+
+    public BetSummery toSummary() {
+        return new BetSummery((int) count, MoneyUtils.toMajorUnits(totalBet), MoneyUtils.toMajorUnits(totalWon));
+    }
+}
@@ -0,0 +1,152 @@
+package com.erika.minicasino.stats;
+
+import com.erika.minicasino.utils.MoneyUtils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live aggregates for one game, in minor units. Every counter is a striped adder, so
+ * threads settling bets on the same game never retry against each other; readers sum
+ * the stripes and may see a bet half-applied, which only blurs the last few bets.
+ * <p>
+ * The sliding window is a ring of buckets like {@link RollingBetTotals}, except each
+ * bucket holds adders and is swapped out whole when the ring wraps onto it.
+ */
+public class GameBetStats {
+    private final Counters allTime = new Counters(0);
+    private final LongAdder openBets = new LongAdder();
+    private final LongAdder openStakes = new LongAdder();
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Counters> window;
+
+    public GameBetStats(long windowMillis, int bucketCount) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.window = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void placed(long stake) {
+        openBets.increment();
+        openStakes.add(stake);
+    }
+
+    public void settled(long nowMillis, long stake, long payout, boolean win) {
+        openBets.decrement();
+        openStakes.add(-stake);
+        allTime.add(stake, payout, win);
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % window.length());
+        Counters bucket = window.get(slot);
+        while (bucket == null || bucket.epoch < epoch) {
+            Counters next = new Counters(epoch);
+            if (window.compareAndSet(slot, bucket, next)) {
+                bucket = next;
+            } else {
+                bucket = window.get(slot);
+            }
+        }
+        if (bucket.epoch == epoch) {
+            bucket.add(stake, payout, win);
+        }
+        // Otherwise the ring already moved past this bet; it fell out of the window
+    }
+
+    public Sample getAllTime() {
+        return allTime.sample(Sample.EMPTY);
+    }
+
+    public Sample getWindow(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - window.length() + 1;
+        Sample sum = Sample.EMPTY;
+        for (int i = 0; i < window.length(); i++) {
+            Counters bucket = window.get(i);
+            if (bucket != null && bucket.epoch >= oldest && bucket.epoch <= epoch) {
+                sum = bucket.sample(sum);
+            }
+        }
+        return sum;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * window.length();
+    }
+
+    public long getOpenBets() {
+        return openBets.sum();
+    }
+
+    public long getOpenStakes() {
+        return openStakes.sum();
+    }
+
+    private static final class Counters {
+        final long epoch;
+        final LongAdder bets = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder totalBet = new LongAdder();
+        final LongAdder totalWon = new LongAdder();
+        /** Sum of squared stakes in major units; sets the spread of the observed RTP. */
+        final DoubleAdder stakeSquares = new DoubleAdder();
+
+        Counters(long epoch) {
+            this.epoch = epoch;
+        }
+
+        void add(long stake, long payout, boolean win) {
+            bets.increment();
+            if (win) {
+                wins.increment();
+            }
+            totalBet.add(stake);
+            totalWon.add(payout);
+            double major = MoneyUtils.toMajorUnits(stake);
+            stakeSquares.add(major * major);
+        }
+
+        Sample sample(Sample base) {
+            return new Sample(base.bets + bets.sum(), base.wins + wins.sum(), base.totalBet + totalBet.sum(),
+                    base.totalWon + totalWon.sum(), base.stakeSquares + stakeSquares.sum());
+        }
+    }
+
+    /** Totals read from the adders at one moment. */
+    public static final class Sample {
+        public static final Sample EMPTY = new Sample(0, 0, 0, 0, 0);
+
+        private final long bets;
+        private final long wins;
+        private final long totalBet;
+        private final long totalWon;
+        private final double stakeSquares;
+
+        public Sample(long bets, long wins, long totalBet, long totalWon, double stakeSquares) {
+            this.bets = bets;
+            this.wins = wins;
+            this.totalBet = totalBet;
+            this.totalWon = totalWon;
+            this.stakeSquares = stakeSquares;
+        }
+
+        public long getBets() {
+            return bets;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getTotalBet() {
+            return totalBet;
+        }
+
+        public long getTotalWon() {
+            return totalWon;
+        }
+
+        public double getStakeSquares() {
+            return stakeSquares;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.erika.minicasino.stats;
+
+import com.erika.minicasino.model.LeaderboardMetric;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Players ranked by each {@link LeaderboardMetric}, kept sorted as bets settle. Every
+ * metric has a skip list ordered best first, so a settlement moves the player's entries
+ * in O(log n) and the top K are the first K entries. A player's entries are moved inside
+ * the map's {@code compute}, so concurrent settlements for one player apply in turn;
+ * a reader racing a move may miss that player for that one read. A player without a
+ * winning bet has no biggest win and is left off that ranking.
+ */
+public class Leaderboard {
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingLong((Ranked ranked) -> ranked.value)
+            .reversed()
+            .thenComparing(ranked -> ranked.username);
+
+    private final Map<String, Score> scores = new ConcurrentHashMap<>();
+    private final Map<LeaderboardMetric, ConcurrentSkipListSet<Ranked>> rankings = new EnumMap<>(LeaderboardMetric.class);
+
+    public Leaderboard() {
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            rankings.put(metric, new ConcurrentSkipListSet<>(BEST_FIRST));
+        }
+    }
+
+    /** Adds one settled bet, in minor units. */
+    public void record(String username, long amountBet, long amountWon) {
+        record(username, amountBet, amountWon, amountWon);
+    }
+
+    /**
+     * Adds several settled bets at once, in minor units: their summed stakes and payouts,
+     * and the biggest payout among them.
+     */
+    public void record(String username, long amountBet, long amountWon, long biggestWin) {
+        scores.compute(username, (name, old) -> {
+            Score next = (old == null ? Score.EMPTY : old).plus(amountBet, amountWon, biggestWin);
+            move(name, old, next);
+            return next;
+        });
+    }
+
+    /**
+     * Sets a player's totals restored from before startup, unless bets have already been
+     * recorded for them. The biggest single win is not restored, so a seeded player joins
+     * that ranking with their next win.
+     */
+    public void seed(String username, long totalBet, long totalWon) {
+        scores.computeIfAbsent(username, name -> {
+            Score seeded = new Score(totalBet, totalWon - totalBet, 0);
+            move(name, null, seeded);
+            return seeded;
+        });
+    }
+
+    private void move(String username, Score old, Score next) {
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            long value = next.value(metric);
+            if (old != null) {
+                long previous = old.value(metric);
+                if (previous == value) {
+                    continue;
+                }
+                if (isRanked(metric, previous)) {
+                    rankings.get(metric).remove(new Ranked(previous, username));
+                }
+            }
+            if (isRanked(metric, value)) {
+                rankings.get(metric).add(new Ranked(value, username));
+            }
+        }
+    }
+
+    private static boolean isRanked(LeaderboardMetric metric, long value) {
+        return metric != LeaderboardMetric.BIGGEST_WIN || value > 0;
+    }
+
+    /** The best {@code limit} players for {@code metric}, best first. */
+    public List<Ranked> top(LeaderboardMetric metric, int limit) {
+        List<Ranked> top = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Ranked> iterator = rankings.get(metric).iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    private static final class Score {
+        static final Score EMPTY = new Score(0, 0, 0);
+
+        final long wagered;
+        final long net;
+        final long biggestWin;
+
+        Score(long wagered, long net, long biggestWin) {
+            this.wagered = wagered;
+            this.net = net;
+            this.biggestWin = biggestWin;
+        }
+
+        Score plus(long amountBet, long amountWon, long win) {
+            return new Score(wagered + amountBet, net + amountWon - amountBet, Math.max(biggestWin, win));
+        }
+
+        long value(LeaderboardMetric metric) {
+            switch (metric) {
+                case NET_WINNINGS:
+                    return net;
+                case TOTAL_WAGERED:
+                    return wagered;
+                case BIGGEST_WIN:
+                    return biggestWin;
+                default:
+                    throw new IllegalArgumentException("Unknown metric " + metric);
+            }
+        }
+    }
+
+    /** One player's value on one ranking, in minor units. */
+    public static final class Ranked {
+        private final long value;
+        private final String username;
+
+        Ranked(long value, String username) {
+            this.value = value;
+            this.username = username;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.erika.minicasino.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bet totals over a sliding time window, kept as a ring of fixed-width buckets.
+ * A bucket is reset lazily when the ring wraps onto it, so recording and reading
+ * cost O(buckets) regardless of how many bets were placed.
+ */
+public class RollingBetTotals {
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public RollingBetTotals(long windowMillis, int bucketCount) {
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void record(long nowMillis, long amountBet, long amountWon) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % buckets.length());
+        while (true) {
+            Bucket current = buckets.get(slot);
+            Bucket next;
+            if (current == null || current.epoch < epoch) {
+                next = new Bucket(epoch, BetTotals.EMPTY.plus(amountBet, amountWon));
+            } else if (current.epoch == epoch) {
+                next = new Bucket(epoch, current.totals.plus(amountBet, amountWon));
+            } else {
+                // The ring already moved past this bucket; the bet fell out of the window
+                return;
+            }
+            if (buckets.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    public BetTotals sum(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - buckets.length() + 1;
+        BetTotals sum = BetTotals.EMPTY;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch >= oldest && bucket.epoch <= epoch) {
+                sum = sum.plus(bucket.totals);
+            }
+        }
+        return sum;
+    }
+
+    /** Writes the buckets for a snapshot; must not race with {@link #readFrom}. */
+    public void writeTo(DataOutput out) throws IOException {
+        int present = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            if (buckets.get(i) != null) {
+                present++;
+            }
+        }
+        out.writeInt(present);
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null) {
+                out.writeInt(i);
+                out.writeLong(bucket.epoch);
+                bucket.totals.writeTo(out);
+            }
+        }
+    }
+
+    public void readFrom(DataInput in) throws IOException {
+        int present = in.readInt();
+        for (int i = 0; i < present; i++) {
+            int slot = in.readInt();
+            buckets.set(slot, new Bucket(in.readLong(), BetTotals.readFrom(in)));
+        }
+    }
+
+    private static final class Bucket {
+        final long epoch;
+        final BetTotals totals;
+
+        Bucket(long epoch, BetTotals totals) {
+            this.epoch = epoch;
+            this.totals = totals;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.erika.minicasino.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Running bet aggregates for one player, updated once per settled bet so that
+ * summaries never walk the bet history.
+ */
+public class UserBetStats {
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final AtomicReference<BetTotals> allTime = new AtomicReference<>(BetTotals.EMPTY);
+    private final Map<Long, AtomicReference<BetTotals>> perGame = new ConcurrentHashMap<>(4);
+    // Allocated on the first bet; most registered players never bet
+    private final AtomicReference<Windows> windows = new AtomicReference<>();
+
+    public void record(long gameId, long amountBet, long amountWon, long settledAtMillis) {
+        allTime.accumulateAndGet(null, (totals, ignored) -> totals.plus(amountBet, amountWon));
+        perGame.computeIfAbsent(gameId, id -> new AtomicReference<>(BetTotals.EMPTY))
+                .accumulateAndGet(null, (totals, ignored) -> totals.plus(amountBet, amountWon));
+        Windows current = windows.get();
+        if (current == null) {
+            windows.compareAndSet(null, new Windows());
+            current = windows.get();
+        }
+        current.lastHour.record(settledAtMillis, amountBet, amountWon);
+        current.lastDay.record(settledAtMillis, amountBet, amountWon);
+    }
+
+    public BetTotals getAllTime() {
+        return allTime.get();
+    }
+
+    public BetTotals getForGame(long gameId) {
+        AtomicReference<BetTotals> totals = perGame.get(gameId);
+        return totals == null ? BetTotals.EMPTY : totals.get();
+    }
+
+    public Map<Long, BetTotals> getPerGame() {
+        Map<Long, BetTotals> result = new ConcurrentHashMap<>(perGame.size());
+        perGame.forEach((gameId, totals) -> result.put(gameId, totals.get()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    public BetTotals getLastHour(long nowMillis) {
+        Windows current = windows.get();
+        return current == null ? BetTotals.EMPTY : current.lastHour.sum(nowMillis);
+    }
+
+    public BetTotals getLastDay(long nowMillis) {
+        Windows current = windows.get();
+        return current == null ? BetTotals.EMPTY : current.lastDay.sum(nowMillis);
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        allTime.get().writeTo(out);
+        out.writeInt(perGame.size());
+        for (Map.Entry<Long, AtomicReference<BetTotals>> entry : perGame.entrySet()) {
+            out.writeLong(entry.getKey());
+            entry.getValue().get().writeTo(out);
+        }
+        Windows current = windows.get();
+        out.writeBoolean(current != null);
+        if (current != null) {
+            current.lastHour.writeTo(out);
+            current.lastDay.writeTo(out);
+        }
+    }
+
+    /** Restores aggregates written by {@link #writeTo} into fresh, unshared stats. */
+    public void readFrom(DataInput in) throws IOException {
+        allTime.set(BetTotals.readFrom(in));
+        int games = in.readInt();
+        for (int i = 0; i < games; i++) {
+            perGame.put(in.readLong(), new AtomicReference<>(BetTotals.readFrom(in)));
+        }
+        if (in.readBoolean()) {
+            Windows restored = new Windows();
+            restored.lastHour.readFrom(in);
+            restored.lastDay.readFrom(in);
+            windows.set(restored);
+        }
+    }
+
+    private static final class Windows {
+        final RollingBetTotals lastHour = new RollingBetTotals(HOUR_MILLIS, 60);
+        final RollingBetTotals lastDay = new RollingBetTotals(DAY_MILLIS, 96);
+    }
+}
@@ -0,0 +1,26 @@
+package com.erika.minicasino.store;
+
+/**
+ * Fixed-capacity columnar storage for settled bets. Each bet occupies one slot across
+ * primitive columns (game ID, stake and payout in minor units, settlement time) plus
+ * one bit for the win flag, so no object is kept per bet.
+ */
+interface BetColumns {
+    int capacity();
+
+    void set(int slot, long gameId, long amountBet, long amountWon, boolean win, long settledAt);
+
+    long gameId(int slot);
+
+    long amountBet(int slot);
+
+    long amountWon(int slot);
+
+    boolean win(int slot);
+
+    long settledAt(int slot);
+
+    static BetColumns allocate(int capacity, boolean offHeap) {
+        return offHeap ? new DirectBetColumns(capacity) : new HeapBetColumns(capacity);
+    }
+}
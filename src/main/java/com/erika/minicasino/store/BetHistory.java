@@ -0,0 +1,110 @@
+package com.erika.minicasino.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One player's most recent bets as a ring buffer over {@link BetColumns}. The buffer
+ * starts small and doubles until it reaches the retention limit, after which the
+ * oldest bet is overwritten.
+ */
+final class BetHistory {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int retention;
+    private final boolean offHeap;
+    private BetColumns columns;
+    private long appended;
+
+    BetHistory(int retention, boolean offHeap) {
+        this.retention = retention;
+        this.offHeap = offHeap;
+        this.columns = BetColumns.allocate(Math.min(INITIAL_CAPACITY, retention), offHeap);
+    }
+
+    void append(long gameId, long amountBet, long amountWon, boolean win, long settledAt) {
+        lock.lock();
+        try {
+            if (appended == columns.capacity() && appended < retention) {
+                grow();
+            }
+            int slot = (int) (appended % columns.capacity());
+            columns.set(slot, gameId, amountBet, amountWon, win, settledAt);
+            appended++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return (int) Math.min(appended, columns.capacity());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies up to {@code limit} bets, newest first, skipping the {@code offset} most recent.
+     */
+    BetHistoryPage recent(int offset, int limit) {
+        lock.lock();
+        try {
+            int capacity = columns.capacity();
+            int size = (int) Math.min(appended, capacity);
+            int end = (int) Math.min(size, (long) offset + limit);
+            if (end <= offset) {
+                return BetHistoryPage.EMPTY;
+            }
+            HeapBetColumns page = new HeapBetColumns(end - offset);
+            for (int i = offset; i < end; i++) {
+                int slot = (int) ((appended - 1 - i) % capacity);
+                page.set(i - offset, columns.gameId(slot), columns.amountBet(slot), columns.amountWon(slot),
+                        columns.win(slot), columns.settledAt(slot));
+            }
+            return new BetHistoryPage(page, end - offset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writes the retained bets, oldest first. */
+    void writeTo(DataOutput out) throws IOException {
+        lock.lock();
+        try {
+            int capacity = columns.capacity();
+            int size = (int) Math.min(appended, capacity);
+            out.writeInt(size);
+            for (long i = appended - size; i < appended; i++) {
+                int slot = (int) (i % capacity);
+                out.writeLong(columns.gameId(slot));
+                out.writeLong(columns.amountBet(slot));
+                out.writeLong(columns.amountWon(slot));
+                out.writeBoolean(columns.win(slot));
+                out.writeLong(columns.settledAt(slot));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void readFrom(DataInput in, int size) throws IOException {
+        for (int i = 0; i < size; i++) {
+            append(in.readLong(), in.readLong(), in.readLong(), in.readBoolean(), in.readLong());
+        }
+    }
+
+    private void grow() {
+        // Only called before the ring wraps, so slots 0..capacity-1 are in append order
+        BetColumns grown = BetColumns.allocate((int) Math.min((long) columns.capacity() * 2, retention), offHeap);
+        for (int slot = 0; slot < columns.capacity(); slot++) {
+            grown.set(slot, columns.gameId(slot), columns.amountBet(slot), columns.amountWon(slot),
+                    columns.win(slot), columns.settledAt(slot));
+        }
+        columns = grown;
+    }
+}
@@ -0,0 +1,97 @@
+package com.erika.minicasino.store;
+
+import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.utils.MoneyUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of one player's bets, newest first, copied out of the history in one go so
+ * the history lock is never held while the page is read. Bets stay in columns and are
+ * read by index; serialized as a JSON array of bet records straight from the columns,
+ * so a page costs a handful of arrays however many bets it holds.
+ */
+@JsonSerialize(using = BetHistoryPage.Serializer.class)
+public final class BetHistoryPage {
+    static final BetHistoryPage EMPTY = new BetHistoryPage(new HeapBetColumns(0), 0);
+
+    private final BetColumns columns;
+    private final int size;
+
+    BetHistoryPage(BetColumns columns, int size) {
+        this.columns = columns;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long gameId(int index) {
+        return columns.gameId(index);
+    }
+
+    /** Stake in minor units. */
+    public long amountBet(int index) {
+        return columns.amountBet(index);
+    }
+
+    /** Payout in minor units. */
+    public long amountWon(int index) {
+        return columns.amountWon(index);
+    }
+
+    public boolean win(int index) {
+        return columns.win(index);
+    }
+
+    public long settledAt(int index) {
+        return columns.settledAt(index);
+    }
+
+    /** Materializes the bet at {@code index}; for callers that need a standalone object. */
+    public BetRecord get(int index) {
+        return new BetRecord(gameId(index), MoneyUtils.toMajorUnits(amountBet(index)),
+                MoneyUtils.toMajorUnits(amountWon(index)), win(index), settledAt(index));
+    }
+
+    public List<BetRecord> toRecords() {
+        List<BetRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            records.add(get(i));
+        }
+        return records;
+    }
+
+    /** Writes the same JSON as a list of {@link BetRecord}s, without creating them. */
+    static final class Serializer extends StdSerializer<BetHistoryPage> {
+        Serializer() {
+            super(BetHistoryPage.class);
+        }
+
+        @Override
+        public void serialize(BetHistoryPage page, JsonGenerator json, SerializerProvider provider) throws IOException {
+            json.writeStartArray(page, page.size);
+            for (int i = 0; i < page.size; i++) {
+                json.writeStartObject();
+                json.writeNumberField("gameId", page.gameId(i));
+                json.writeNumberField("amountBet", MoneyUtils.toMajorUnits(page.amountBet(i)));
+                json.writeNumberField("amountWon", MoneyUtils.toMajorUnits(page.amountWon(i)));
+                json.writeBooleanField("win", page.win(i));
+                json.writeNumberField("settledAt", page.settledAt(i));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.erika.minicasino.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded bet history for every player. Only the last {@code retention} bets per
+ * player are kept, in columnar primitive storage on the heap or, optionally, in
+ * direct buffers off the heap. Reads return a {@link BetHistoryPage} copied out of
+ * the columns, so no object is created per bet.
+ */
+public class BetHistoryStore {
+    private final Map<String, BetHistory> histories = new ConcurrentHashMap<>();
+    private final int retention;
+    private final boolean offHeap;
+
+    public BetHistoryStore(int retention, boolean offHeap) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Bet history retention must be positive");
+        }
+        this.retention = retention;
+        this.offHeap = offHeap;
+    }
+
+    public void append(String username, long gameId, long amountBet, long amountWon, boolean win, long settledAt) {
+        histories.computeIfAbsent(username, key -> new BetHistory(retention, offHeap))
+                .append(gameId, amountBet, amountWon, win, settledAt);
+    }
+
+    public int size(String username) {
+        BetHistory history = histories.get(username);
+        return history == null ? 0 : history.size();
+    }
+
+    public void writeTo(String username, DataOutput out) throws IOException {
+        BetHistory history = histories.get(username);
+        if (history == null) {
+            out.writeInt(0);
+        } else {
+            history.writeTo(out);
+        }
+    }
+
+    public void readFrom(String username, DataInput in) throws IOException {
+        int size = in.readInt();
+        if (size > 0) {
+            histories.computeIfAbsent(username, key -> new BetHistory(retention, offHeap)).readFrom(in, size);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} of the player's retained bets, newest first.
+     */
+    public BetHistoryPage recent(String username, int offset, int limit) {
+        BetHistory history = histories.get(username);
+        return history == null ? BetHistoryPage.EMPTY : history.recent(offset, limit);
+    }
+}
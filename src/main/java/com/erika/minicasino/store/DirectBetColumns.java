@@ -0,0 +1,70 @@
+package com.erika.minicasino.store;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link BetColumns} in a single direct buffer outside the Java heap, laid out as
+ * consecutive column regions: game IDs, stakes, payouts, settlement times, win bits.
+ */
+final class DirectBetColumns implements BetColumns {
+    private final int capacity;
+    private final int amountBetOffset;
+    private final int amountWonOffset;
+    private final int settledAtOffset;
+    private final int winBitsOffset;
+    private final ByteBuffer buffer;
+
+    DirectBetColumns(int capacity) {
+        this.capacity = capacity;
+        int column = capacity * Long.BYTES;
+        amountBetOffset = column;
+        amountWonOffset = 2 * column;
+        settledAtOffset = 3 * column;
+        winBitsOffset = 4 * column;
+        buffer = ByteBuffer.allocateDirect(winBitsOffset + ((capacity + 63) >>> 6) * Long.BYTES)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void set(int slot, long gameId, long amountBet, long amountWon, boolean win, long settledAt) {
+        int offset = slot * Long.BYTES;
+        buffer.putLong(offset, gameId);
+        buffer.putLong(amountBetOffset + offset, amountBet);
+        buffer.putLong(amountWonOffset + offset, amountWon);
+        buffer.putLong(settledAtOffset + offset, settledAt);
+        int wordOffset = winBitsOffset + (slot >>> 6) * Long.BYTES;
+        long word = buffer.getLong(wordOffset);
+        buffer.putLong(wordOffset, win ? word | (1L << slot) : word & ~(1L << slot));
+    }
+
+    @Override
+    public long gameId(int slot) {
+        return buffer.getLong(slot * Long.BYTES);
+    }
+
+    @Override
+    public long amountBet(int slot) {
+        return buffer.getLong(amountBetOffset + slot * Long.BYTES);
+    }
+
+    @Override
+    public long amountWon(int slot) {
+        return buffer.getLong(amountWonOffset + slot * Long.BYTES);
+    }
+
+    @Override
+    public boolean win(int slot) {
+        return (buffer.getLong(winBitsOffset + (slot >>> 6) * Long.BYTES) & (1L << slot)) != 0;
+    }
+
+    @Override
+    public long settledAt(int slot) {
+        return buffer.getLong(settledAtOffset + slot * Long.BYTES);
+    }
+}
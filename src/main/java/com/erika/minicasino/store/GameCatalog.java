@@ -0,0 +1,147 @@
+package com.erika.minicasino.store;
+
+import com.erika.minicasino.model.Game;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the game catalog.
+ * <p>
+ * Changes build a new catalog instead of mutating this one, so a reader holding a
+ * reference always sees a complete catalog, never one half-way through an upload.
+ * Games are kept ordered by ID, as {@linkplain Game#frozen() frozen} copies, so the
+ * games handed out cannot be changed either.
+ * <p>
+ * Bets look games up by primitive ID through {@link #find(long)}: a dense array when the
+ * IDs are small and mostly contiguous, otherwise an open-addressing table keyed by
+ * {@code long}. Neither path boxes the ID or allocates.
+ */
+public final class GameCatalog {
+    public static final GameCatalog EMPTY = new GameCatalog(Collections.emptyMap());
+
+    /** Dense index is used while it wastes at most this many slots per game. */
+    private static final int MAX_DENSE_SLOTS_PER_GAME = 4;
+    private static final int MIN_DENSE_SLOTS = 64;
+
+    private final Map<Long, Game> byId;
+    private final List<Game> games;
+    /** Indexed by ID when dense; otherwise the value column of the hash table. */
+    private final Game[] slots;
+    /** Key column of the hash table, or null when the dense index is used. */
+    private final long[] keys;
+    private final int mask;
+
+    private GameCatalog(Map<Long, Game> byId) {
+        this.byId = Collections.unmodifiableMap(byId);
+        this.games = Collections.unmodifiableList(new ArrayList<>(byId.values()));
+        long maxId = games.isEmpty() ? -1 : games.get(games.size() - 1).getId();
+        long minId = games.isEmpty() ? 0 : games.get(0).getId();
+        if (minId >= 0 && maxId < Math.max(MIN_DENSE_SLOTS, (long) games.size() * MAX_DENSE_SLOTS_PER_GAME)) {
+            slots = new Game[(int) maxId + 1];
+            for (Game game : games) {
+                slots[game.getId().intValue()] = game;
+            }
+            keys = null;
+            mask = 0;
+        } else {
+            // Power-of-two capacity at most half full keeps probe chains short
+            int capacity = Integer.highestOneBit(Math.max(2, games.size()) * 2 - 1) << 1;
+            slots = new Game[capacity];
+            keys = new long[capacity];
+            mask = capacity - 1;
+            for (Game game : games) {
+                int slot = hash(game.getId()) & mask;
+                while (slots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = game;
+                keys[slot] = game.getId();
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /** Builds a catalog from {@code games}; a later game replaces an earlier one with the same ID. */
+    public static GameCatalog of(Collection<Game> games) {
+        Map<Long, Game> byId = new LinkedHashMap<>();
+        for (Game game : games) {
+            byId.put(game.getId(), game);
+        }
+        return sorted(byId.values());
+    }
+
+    /** Returns a catalog with {@code game} added, or replacing the game with the same ID. */
+    public GameCatalog with(Game game) {
+        Map<Long, Game> byId = new LinkedHashMap<>(this.byId);
+        byId.put(game.getId(), game);
+        return sorted(byId.values());
+    }
+
+    /**
+     * Returns a catalog with {@code upserts} added or replacing games with the same ID
+     * and the games in {@code removals} dropped.
+     */
+    public GameCatalog withChanges(Collection<Game> upserts, Collection<Long> removals) {
+        Map<Long, Game> byId = new LinkedHashMap<>(this.byId);
+        for (Long id : removals) {
+            byId.remove(id);
+        }
+        for (Game game : upserts) {
+            byId.put(game.getId(), game);
+        }
+        return sorted(byId.values());
+    }
+
+    private static GameCatalog sorted(Collection<Game> games) {
+        List<Game> ordered = new ArrayList<>(games.size());
+        for (Game game : games) {
+            ordered.add(game.frozen());
+        }
+        ordered.sort(Comparator.comparing(Game::getId));
+        Map<Long, Game> byId = new LinkedHashMap<>();
+        for (Game game : ordered) {
+            byId.put(game.getId(), game);
+        }
+        return new GameCatalog(byId);
+    }
+
+    /** The game with this ID, or null. */
+    public Game find(long id) {
+        if (keys == null) {
+            return id >= 0 && id < slots.length ? slots[(int) id] : null;
+        }
+        int slot = hash(id) & mask;
+        Game game;
+        while ((game = slots[slot]) != null) {
+            if (keys[slot] == id) {
+                return game;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Unmodifiable list of every game, ordered by ID. */
+    public List<Game> getGames() {
+        return games;
+    }
+
+    /** Unmodifiable view keyed by game ID. */
+    public Map<Long, Game> asMap() {
+        return byId;
+    }
+
+    public int size() {
+        return games.size();
+    }
+}
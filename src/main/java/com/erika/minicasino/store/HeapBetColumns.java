@@ -0,0 +1,63 @@
+package com.erika.minicasino.store;
+
+/**
+ * {@link BetColumns} backed by primitive arrays on the Java heap.
+ */
+final class HeapBetColumns implements BetColumns {
+    private final long[] gameIds;
+    private final long[] amountsBet;
+    private final long[] amountsWon;
+    private final long[] settledAt;
+    private final long[] winBits;
+
+    HeapBetColumns(int capacity) {
+        gameIds = new long[capacity];
+        amountsBet = new long[capacity];
+        amountsWon = new long[capacity];
+        settledAt = new long[capacity];
+        winBits = new long[(capacity + 63) >>> 6];
+    }
+
+    @Override
+    public int capacity() {
+        return gameIds.length;
+    }
+
+    @Override
+    public void set(int slot, long gameId, long amountBet, long amountWon, boolean win, long settledAt) {
+        gameIds[slot] = gameId;
+        amountsBet[slot] = amountBet;
+        amountsWon[slot] = amountWon;
+        this.settledAt[slot] = settledAt;
+        if (win) {
+            winBits[slot >>> 6] |= 1L << slot;
+        } else {
+            winBits[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    @Override
+    public long gameId(int slot) {
+        return gameIds[slot];
+    }
+
+    @Override
+    public long amountBet(int slot) {
+        return amountsBet[slot];
+    }
+
+    @Override
+    public long amountWon(int slot) {
+        return amountsWon[slot];
+    }
+
+    @Override
+    public boolean win(int slot) {
+        return (winBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    @Override
+    public long settledAt(int slot) {
+        return settledAt[slot];
+    }
+}
@@ -0,0 +1,409 @@
+package com.erika.minicasino.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary write-ahead ledger.
+ * <p>
+ * Every entry is framed as {@code length:int crc32c:int body}. Appends are encoded on
+ * the caller's thread and handed to a single writer thread, which writes whatever has
+ * queued up in one {@link FileChannel#write} and one {@link FileChannel#force} (group
+ * commit). The future returned by {@link #append} completes once the entry is durable.
+ * <p>
+ * The ledger is split into numbered segment files. {@link #roll} starts a new segment
+ * at an exact point in the entry order, which is what snapshots use as their cut; the
+ * segments behind a snapshot can then be deleted.
+ * <p>
+ * On open, the segments are scanned and every intact entry is replayed; a torn or
+ * corrupt tail left by a crash mid-write is truncated away. A batch that fails to write
+ * is cut off the same way before the next one is written, so entries acknowledged later
+ * never sit behind a torn frame; if it cannot be cut off the ledger refuses all further
+ * appends.
+ */
+@Slf4j
+public class Ledger implements Closeable {
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private FileChannel channel;
+    private long segment;
+    private final boolean fsync;
+    private final int maxBatch;
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private final UnaryOperator<FileChannel> channels;
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(1 << 16);
+
+    private Ledger(Path directory, FileChannel channel, long segment, boolean fsync, int maxBatch,
+                   UnaryOperator<FileChannel> channels) {
+        this.directory = directory;
+        this.channel = channel;
+        this.channels = channels;
+        this.segment = segment;
+        this.fsync = fsync;
+        this.maxBatch = maxBatch;
+        this.writer = new Thread(this::writeLoop, "ledger-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens (or creates) the ledger in {@code directory}, replays every intact entry
+     * from segment {@code fromSegment} onwards into {@code replay} and starts accepting
+     * appends at the end of the newest segment.
+     */
+    public static Ledger open(Path directory, boolean fsync, int maxBatch, long fromSegment,
+                              Consumer<LedgerRecord> replay) throws IOException {
+        return open(directory, fsync, maxBatch, fromSegment, replay, UnaryOperator.identity());
+    }
+
+    /** As {@link #open}, with every channel appended to passed through {@code channels} (for tests). */
+    static Ledger open(Path directory, boolean fsync, int maxBatch, long fromSegment,
+                       Consumer<LedgerRecord> replay, UnaryOperator<FileChannel> channels) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = new ArrayList<>();
+        for (long index : segments(directory)) {
+            if (index >= fromSegment) {
+                segments.add(index);
+            }
+        }
+        long last = segments.isEmpty() ? fromSegment : segments.get(segments.size() - 1);
+        for (long index : segments) {
+            if (index != last) {
+                try (FileChannel sealed = FileChannel.open(segmentFile(directory, index), StandardOpenOption.READ)) {
+                    long validEnd = replay(sealed, replay);
+                    if (validEnd < sealed.size()) {
+                        log.warn("Ledger segment {} is damaged after offset {}; ignoring the rest of it", index, validEnd);
+                    }
+                }
+            }
+        }
+        FileChannel channel = FileChannel.open(segmentFile(directory, last),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = replay(channel, replay);
+        if (validEnd < channel.size()) {
+            log.warn("Truncating torn ledger tail: {} bytes after offset {}", channel.size() - validEnd, validEnd);
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        Ledger ledger = new Ledger(directory, channels.apply(channel), last, fsync, Math.max(1, maxBatch), channels);
+        ledger.writer.start();
+        return ledger;
+    }
+
+    public static Ledger open(Path directory, boolean fsync, int maxBatch, Consumer<LedgerRecord> replay) throws IOException {
+        return open(directory, fsync, maxBatch, 0, replay);
+    }
+
+    /**
+     * Replays the sealed segments in {@code [fromSegment, toSegment)}. Safe to call while
+     * the ledger is appending to a later segment.
+     */
+    public static void replaySegments(Path directory, long fromSegment, long toSegment,
+                                      Consumer<LedgerRecord> replay) throws IOException {
+        for (long index : segments(directory)) {
+            if (index >= fromSegment && index < toSegment) {
+                try (FileChannel sealed = FileChannel.open(segmentFile(directory, index), StandardOpenOption.READ)) {
+                    replay(sealed, replay);
+                }
+            }
+        }
+    }
+
+    /** Deletes every segment numbered below {@code segment}. */
+    public static void deleteSegmentsBefore(Path directory, long segment) throws IOException {
+        for (long index : segments(directory)) {
+            if (index < segment) {
+                Files.deleteIfExists(segmentFile(directory, index));
+            }
+        }
+    }
+
+    static List<Long> segments(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    static Path segmentFile(Path directory, long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Reads entries from the start of the channel until the end or the first damaged
+     * entry.
+     *
+     * @return offset just past the last intact entry
+     */
+    static long replay(FileChannel channel, Consumer<LedgerRecord> replay) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+        long position = 0;
+        long size = channel.size();
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(channel, body, position + HEADER_BYTES);
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            body.flip();
+            LedgerRecord record;
+            try {
+                record = LedgerRecord.decode(body);
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+            replay.accept(record);
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of ledger");
+            }
+        }
+    }
+
+    public CompletableFuture<Void> append(LedgerRecord record) {
+        byte[] encoded;
+        try {
+            encoded = record.encode();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (encoded.length > MAX_RECORD_BYTES) {
+            // replay() stops at an entry this long, dropping everything after it
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Ledger entry of " + encoded.length + " bytes exceeds " + MAX_RECORD_BYTES));
+        }
+        PendingAppend pending = new PendingAppend(encoded);
+        enqueue(pending);
+        return pending.future;
+    }
+
+    /**
+     * Seals the current segment and starts a new one. Every entry appended before this
+     * call ends up in an older segment, every entry appended after it in the new one.
+     *
+     * @return future completing with the number of the new segment
+     */
+    public CompletableFuture<Long> roll() {
+        PendingAppend marker = new PendingAppend(null);
+        enqueue(marker);
+        return marker.future.thenApply(ignored -> marker.segment);
+    }
+
+    private void enqueue(PendingAppend pending) {
+        if (closed) {
+            pending.future.completeExceptionally(new IllegalStateException("Ledger is closed"));
+            return;
+        }
+        if (failure != null) {
+            pending.future.completeExceptionally(new IOException("Ledger failed", failure));
+            return;
+        }
+        queue.add(pending);
+        // close() may have drained the queue between the check above and the add; nobody
+        // would complete the entry then, so take it back unless the writer already has it
+        if (closed && queue.remove(pending)) {
+            pending.future.completeExceptionally(new IllegalStateException("Ledger is closed"));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        CRC32C crc = new CRC32C();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.take();
+                if (first == PendingAppend.CLOSE) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                batch.removeIf(pending -> pending == PendingAppend.CLOSE);
+                if (failure != null) {
+                    throw new IOException("Ledger failed", failure);
+                }
+                writeBatch(batch, crc);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Ledger write failed", e);
+                for (PendingAppend pending : batch) {
+                    pending.future.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingAppend> batch, CRC32C crc) throws IOException {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).body == null) {
+                write(batch.subList(start, i), crc);
+                PendingAppend marker = batch.get(i);
+                marker.segment = rollSegment();
+                marker.future.complete(null);
+                start = i + 1;
+            }
+        }
+        write(batch.subList(start, batch.size()), crc);
+    }
+
+    private void write(List<PendingAppend> entries, CRC32C crc) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int bytes = 0;
+        for (PendingAppend pending : entries) {
+            bytes += HEADER_BYTES + pending.body.length;
+        }
+        if (writeBuffer.capacity() < bytes) {
+            writeBuffer = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+        }
+        writeBuffer.clear();
+        for (PendingAppend pending : entries) {
+            crc.reset();
+            crc.update(pending.body);
+            writeBuffer.putInt(pending.body.length).putInt((int) crc.getValue()).put(pending.body);
+        }
+        writeBuffer.flip();
+        long start = channel.position();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            cutOff(start, e);
+            throw e;
+        }
+        for (PendingAppend pending : entries) {
+            pending.future.complete(null);
+        }
+    }
+
+    /**
+     * Removes whatever part of a failed batch reached the file, so the next batch is
+     * written where the failed one started.
+     */
+    private void cutOff(long start, Exception cause) {
+        try {
+            channel.truncate(start);
+            channel.position(start);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+            fail(cause);
+        }
+    }
+
+    private void fail(Exception cause) {
+        log.error("Ledger cannot recover from a failed write at segment {}; rejecting all further appends", segment, cause);
+        failure = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+
+    private long rollSegment() throws IOException {
+        try {
+            channel.force(true);
+            channel.close();
+            channel = channels.apply(FileChannel.open(segmentFile(directory, segment + 1),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE));
+            segment++;
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            // The old segment may be closed and the new one missing; nowhere safe to write
+            fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops accepting appends, waits for queued entries to be written and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(PendingAppend.CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingAppend late;
+        while ((late = queue.poll()) != null) {
+            late.future.completeExceptionally(new IllegalStateException("Ledger is closed"));
+        }
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static final class PendingAppend {
+        static final PendingAppend CLOSE = new PendingAppend(new byte[0]);
+
+        // Null for a roll marker
+        final byte[] body;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        long segment;
+
+        PendingAppend(byte[] body) {
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.erika.minicasino.store;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Compacts the ledger into a snapshot without touching live state.
+ * <p>
+ * The current segment is sealed first, which gives a consistent cut: the new snapshot
+ * is the previous snapshot plus every sealed segment, folded into a private
+ * {@link LedgerState}. Appends carry on in the new segment meanwhile, and the sealed
+ * segments are deleted once the snapshot is durable.
+ */
+public class LedgerCompactor {
+    private final Path directory;
+    private final Ledger ledger;
+    private final int historyRetention;
+
+    public LedgerCompactor(Path directory, Ledger ledger, int historyRetention) {
+        this.directory = directory;
+        this.ledger = ledger;
+        this.historyRetention = historyRetention;
+    }
+
+    /**
+     * Writes a snapshot covering everything appended before this call.
+     *
+     * @return the first segment not covered by the new snapshot
+     */
+    public long compact() throws IOException {
+        long segment = ledger.roll().join();
+        LedgerState state = new LedgerState(new BetHistoryStore(historyRetention, false));
+        long from = SnapshotStore.loadLatest(directory, state);
+        Ledger.replaySegments(directory, from, segment, state::apply);
+        SnapshotStore.write(directory, segment, state);
+        Ledger.deleteSegmentsBefore(directory, segment);
+        SnapshotStore.deleteOlderThan(directory, segment);
+        return segment;
+    }
+}
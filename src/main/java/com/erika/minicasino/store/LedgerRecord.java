@@ -0,0 +1,221 @@
+package com.erika.minicasino.store;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * One entry of the wallet and bet ledger. All amounts are in minor units.
+ * <p>
+ * Binary layout: {@code type:byte timestamp:long} followed by the fields of the type;
+ * strings are written as an unsigned short length plus UTF-8 bytes, so none may exceed
+ * {@link #MAX_STRING_BYTES}.
+ */
+public final class LedgerRecord {
+    /** Longest string the unsigned short length prefix can describe, in UTF-8 bytes. */
+    public static final int MAX_STRING_BYTES = 0xFFFF;
+
+    public enum Type {
+        REGISTER, DEPOSIT, RESERVE, SETTLE, RELEASE;
+
+        private static final Type[] VALUES = values();
+    }
+
+    private final Type type;
+    private final long timestamp;
+    private final String username;
+    private final String name;
+    private final LocalDate birthdate;
+    private final long ticketId;
+    private final long gameId;
+    private final long amount;
+    private final long amountWon;
+    private final boolean win;
+
+    private LedgerRecord(Type type, long timestamp, String username, String name, LocalDate birthdate,
+                         long ticketId, long gameId, long amount, long amountWon, boolean win) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.username = username;
+        this.name = name;
+        this.birthdate = birthdate;
+        this.ticketId = ticketId;
+        this.gameId = gameId;
+        this.amount = amount;
+        this.amountWon = amountWon;
+        this.win = win;
+    }
+
+    public static LedgerRecord register(String username, String name, LocalDate birthdate, long openingBalance) {
+        return new LedgerRecord(Type.REGISTER, System.currentTimeMillis(), username, name, birthdate, 0, 0, openingBalance, 0, false);
+    }
+
+    public static LedgerRecord deposit(String username, long amount) {
+        return new LedgerRecord(Type.DEPOSIT, System.currentTimeMillis(), username, null, null, 0, 0, amount, 0, false);
+    }
+
+    public static LedgerRecord reserve(long ticketId, String username, long gameId, long amount) {
+        return new LedgerRecord(Type.RESERVE, System.currentTimeMillis(), username, null, null, ticketId, gameId, amount, 0, false);
+    }
+
+    public static LedgerRecord settle(long ticketId, String username, long gameId, long amountBet, long amountWon,
+                                      boolean win, long settledAt) {
+        return new LedgerRecord(Type.SETTLE, settledAt, username, null, null, ticketId, gameId, amountBet, amountWon, win);
+    }
+
+    public static LedgerRecord release(long ticketId, String username, long amount) {
+        return new LedgerRecord(Type.RELEASE, System.currentTimeMillis(), username, null, null, ticketId, 0, amount, 0, false);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getBirthdate() {
+        return birthdate;
+    }
+
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    /** Opening balance, deposit, reservation or stake, depending on the type. */
+    public long getAmount() {
+        return amount;
+    }
+
+    public long getAmountWon() {
+        return amountWon;
+    }
+
+    public boolean isWin() {
+        return win;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a string is longer than {@link #MAX_STRING_BYTES}
+     */
+    public byte[] encode() {
+        byte[] user = username.getBytes(StandardCharsets.UTF_8);
+        byte[] fullName = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 2 + user.length + 2 + fullName.length + 6 * 8 + 1);
+        buffer.put((byte) type.ordinal()).putLong(timestamp);
+        putString(buffer, user);
+        switch (type) {
+            case REGISTER:
+                putString(buffer, fullName);
+                buffer.putLong(birthdate.toEpochDay()).putLong(amount);
+                break;
+            case DEPOSIT:
+                buffer.putLong(amount);
+                break;
+            case RESERVE:
+                buffer.putLong(ticketId).putLong(gameId).putLong(amount);
+                break;
+            case SETTLE:
+                buffer.putLong(ticketId).putLong(gameId).putLong(amount).putLong(amountWon).put((byte) (win ? 1 : 0));
+                break;
+            case RELEASE:
+                buffer.putLong(ticketId).putLong(amount);
+                break;
+        }
+        byte[] encoded = new byte[buffer.position()];
+        buffer.flip().get(encoded);
+        return encoded;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a valid record
+     */
+    public static LedgerRecord decode(ByteBuffer buffer) {
+        try {
+            int ordinal = buffer.get();
+            if (ordinal < 0 || ordinal >= Type.VALUES.length) {
+                throw new IllegalArgumentException("Unknown ledger record type " + ordinal);
+            }
+            Type type = Type.VALUES[ordinal];
+            long timestamp = buffer.getLong();
+            String username = getString(buffer);
+            switch (type) {
+                case REGISTER: {
+                    String name = getString(buffer);
+                    LocalDate birthdate = LocalDate.ofEpochDay(buffer.getLong());
+                    return new LedgerRecord(type, timestamp, username, name, birthdate, 0, 0, buffer.getLong(), 0, false);
+                }
+                case DEPOSIT:
+                    return new LedgerRecord(type, timestamp, username, null, null, 0, 0, buffer.getLong(), 0, false);
+                case RESERVE:
+                    return new LedgerRecord(type, timestamp, username, null, null,
+                            buffer.getLong(), buffer.getLong(), buffer.getLong(), 0, false);
+                case SETTLE:
+                    return new LedgerRecord(type, timestamp, username, null, null,
+                            buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.get() != 0);
+                default:
+                    return new LedgerRecord(type, timestamp, username, null, null,
+                            buffer.getLong(), 0, buffer.getLong(), 0, false);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated ledger record", e);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Out-of-range fields such as a birthdate beyond LocalDate's range
+            throw new IllegalArgumentException("Invalid ledger record: " + e.getMessage(), e);
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) checkLength(bytes).length).put(bytes);
+    }
+
+    private static byte[] checkLength(byte[] bytes) {
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Ledger string of " + bytes.length + " bytes exceeds " + MAX_STRING_BYTES);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes {@code value} in the record string layout, for snapshots. Byte-for-byte the
+     * same as {@link DataOutput#writeUTF} for strings without NUL or supplementary chars.
+     *
+     * @throws IllegalArgumentException if it is longer than {@link #MAX_STRING_BYTES}
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = checkLength(value.getBytes(StandardCharsets.UTF_8));
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,183 @@
+package com.erika.minicasino.store;
+
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.utils.MoneyUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wallet and bet state rebuilt by folding ledger entries.
+ * <p>
+ * Entries are applied without balance checks: concurrent operations on one wallet may
+ * reach the ledger in a different order than they were applied in memory, and only
+ * the final sums have to match.
+ */
+public class LedgerState {
+    private final Map<String, Account> accounts = new LinkedHashMap<>();
+    private final Map<Long, LedgerRecord> pendingBets = new LinkedHashMap<>();
+    private final BetHistoryStore betHistory;
+    private long lastTicketId;
+
+    public LedgerState(BetHistoryStore betHistory) {
+        this.betHistory = betHistory;
+    }
+
+    public void apply(LedgerRecord record) {
+        switch (record.getType()) {
+            case REGISTER: {
+                User user = new User(record.getName(), record.getUsername(), record.getBirthdate(),
+                        MoneyUtils.toMajorUnits(record.getAmount()));
+                accounts.computeIfAbsent(record.getUsername(), key -> new Account()).register(user, record.getAmount());
+                break;
+            }
+            case DEPOSIT:
+                account(record).available += record.getAmount();
+                break;
+            case RESERVE: {
+                Account account = account(record);
+                account.available -= record.getAmount();
+                account.reserved += record.getAmount();
+                pendingBets.put(record.getTicketId(), record);
+                lastTicketId = Math.max(lastTicketId, record.getTicketId());
+                break;
+            }
+            case SETTLE: {
+                Account account = account(record);
+                account.reserved -= record.getAmount();
+                account.available += record.getAmountWon();
+                pendingBets.remove(record.getTicketId());
+                lastTicketId = Math.max(lastTicketId, record.getTicketId());
+                betHistory.append(record.getUsername(), record.getGameId(), record.getAmount(),
+                        record.getAmountWon(), record.isWin(), record.getTimestamp());
+                if (account.user != null) {
+                    account.user.getBetStats().record(record.getGameId(), record.getAmount(),
+                            record.getAmountWon(), record.getTimestamp());
+                }
+                break;
+            }
+            case RELEASE: {
+                Account account = account(record);
+                account.reserved -= record.getAmount();
+                account.available += record.getAmount();
+                pendingBets.remove(record.getTicketId());
+                break;
+            }
+        }
+    }
+
+    private Account account(LedgerRecord record) {
+        return accounts.computeIfAbsent(record.getUsername(), key -> new Account());
+    }
+
+    /** Accounts in registration order. */
+    public Collection<Account> getAccounts() {
+        return accounts.values();
+    }
+
+    /** RESERVE entries that were never settled or released. */
+    public Collection<LedgerRecord> getPendingBets() {
+        return pendingBets.values();
+    }
+
+    public BetHistoryStore getBetHistory() {
+        return betHistory;
+    }
+
+    public long getLastTicketId() {
+        return lastTicketId;
+    }
+
+    /**
+     * Writes registry, wallets, aggregates, retained history and pending bets in a
+     * compact binary form. Accounts without a registration are left out.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(lastTicketId);
+        int registered = 0;
+        for (Account account : accounts.values()) {
+            if (account.user != null) {
+                registered++;
+            }
+        }
+        out.writeInt(registered);
+        for (Account account : accounts.values()) {
+            User user = account.user;
+            if (user == null) {
+                continue;
+            }
+            LedgerRecord.writeString(out, user.getUsername());
+            LedgerRecord.writeString(out, user.getName());
+            out.writeLong(user.getBirthdate().toEpochDay());
+            out.writeLong(MoneyUtils.toMinorUnits(user.getBalance()));
+            out.writeLong(account.available);
+            out.writeLong(account.reserved);
+            user.getBetStats().writeTo(out);
+            betHistory.writeTo(user.getUsername(), out);
+        }
+        out.writeInt(pendingBets.size());
+        for (LedgerRecord pending : pendingBets.values()) {
+            out.writeLong(pending.getTicketId());
+            LedgerRecord.writeString(out, pending.getUsername());
+            out.writeLong(pending.getGameId());
+            out.writeLong(pending.getAmount());
+        }
+    }
+
+    /** Loads state written by {@link #writeTo} into this, still empty, state. */
+    public void readFrom(DataInput in) throws IOException {
+        lastTicketId = in.readLong();
+        int registered = in.readInt();
+        for (int i = 0; i < registered; i++) {
+            String username = LedgerRecord.readString(in);
+            String name = LedgerRecord.readString(in);
+            LocalDate birthdate = LocalDate.ofEpochDay(in.readLong());
+            User user = new User(name, username, birthdate, MoneyUtils.toMajorUnits(in.readLong()));
+            Account account = new Account();
+            account.user = user;
+            account.available = in.readLong();
+            account.reserved = in.readLong();
+            user.getBetStats().readFrom(in);
+            betHistory.readFrom(username, in);
+            accounts.put(username, account);
+        }
+        int pending = in.readInt();
+        for (int i = 0; i < pending; i++) {
+            LedgerRecord record = LedgerRecord.reserve(in.readLong(), LedgerRecord.readString(in), in.readLong(), in.readLong());
+            pendingBets.put(record.getTicketId(), record);
+        }
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    public static final class Account {
+        private User user;
+        private long available;
+        private long reserved;
+
+        private void register(User user, long openingBalance) {
+            this.user = user;
+            this.available += openingBalance;
+        }
+
+        /** Null if the ledger holds entries for a user whose registration was lost. */
+        public User getUser() {
+            return user;
+        }
+
+        public long getAvailable() {
+            return available;
+        }
+
+        public long getReserved() {
+            return reserved;
+        }
+    }
+}
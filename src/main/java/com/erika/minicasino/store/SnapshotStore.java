@@ -0,0 +1,127 @@
+package com.erika.minicasino.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time snapshots of {@link LedgerState}.
+ * <p>
+ * A snapshot named after segment {@code N} holds the state produced by every ledger
+ * entry in the segments before {@code N}; startup loads it and replays only segments
+ * {@code N} and later. Files are written to a temporary name, fsynced and renamed, and
+ * carry a trailing CRC32C so a damaged snapshot is never loaded.
+ */
+public final class SnapshotStore {
+    private static final int MAGIC = 0x4D43534E;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private SnapshotStore() {
+    }
+
+    public static void write(Path directory, long segment, LedgerState state) throws IOException {
+        Path target = snapshotFile(directory, segment);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(segment);
+            state.writeTo(out);
+            out.flush();
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads the newest snapshot into {@code state}.
+     *
+     * @return the first ledger segment not covered by the snapshot, or 0 if there is none
+     */
+    public static long loadLatest(Path directory, LedgerState state) throws IOException {
+        List<Long> snapshots = snapshots(directory);
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        long segment = snapshots.get(snapshots.size() - 1);
+        Path file = snapshotFile(directory, segment);
+        verifyChecksum(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != segment) {
+                throw new IOException("Not a snapshot: " + file);
+            }
+            state.readFrom(in);
+        }
+        return segment;
+    }
+
+    private static void verifyChecksum(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        long bodyLength = Files.size(file) - Long.BYTES;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            byte[] buffer = new byte[1 << 16];
+            long left = bodyLength;
+            while (left > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, left));
+                if (read < 0) {
+                    throw new IOException("Truncated snapshot: " + file);
+                }
+                crc.update(buffer, 0, read);
+                left -= read;
+            }
+            if (new DataInputStream(in).readLong() != crc.getValue()) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+        }
+    }
+
+    /** Deletes snapshots older than the one for {@code segment}. */
+    public static void deleteOlderThan(Path directory, long segment) throws IOException {
+        for (long older : snapshots(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(snapshotFile(directory, older));
+            }
+        }
+    }
+
+    static Path snapshotFile(Path directory, long segment) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    static List<Long> snapshots(Path directory) throws IOException {
+        List<Long> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                snapshots.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(snapshots);
+        return snapshots;
+    }
+}
@@ -0,0 +1,140 @@
+package com.erika.minicasino.store;
+
+import com.erika.minicasino.model.CursorPage;
+import com.erika.minicasino.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent user registry for millions of players.
+ * <p>
+ * Lookups go to one of a fixed number of pre-sized {@link ConcurrentHashMap} shards,
+ * so registration is a single {@code putIfAbsent} and no shard ever has to rehash a
+ * table holding the whole population. Users are also appended to a chunked
+ * registration log, which gives a stable order for cursor pagination and streaming
+ * without copying the registry.
+ */
+public class UserRegistry {
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int MAX_CHUNKS = 1 << 16;
+
+    private final ConcurrentHashMap<String, User>[] shards;
+    private final int shardMask;
+    private final AtomicReferenceArray<AtomicReferenceArray<User>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public UserRegistry() {
+        this(64, 1 << 20);
+    }
+
+    @SuppressWarnings("unchecked")
+    public UserRegistry(int shardCount, int expectedUsers) {
+        int shardsPowerOfTwo = Integer.highestOneBit(Math.max(1, shardCount - 1) << 1);
+        int perShard = Math.max(16, expectedUsers / shardsPowerOfTwo);
+        shards = new ConcurrentHashMap[shardsPowerOfTwo];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ConcurrentHashMap<>(perShard);
+        }
+        shardMask = shardsPowerOfTwo - 1;
+    }
+
+    /**
+     * Atomically registers the user unless the username is taken.
+     *
+     * @return false if a user with the same username already exists
+     */
+    public boolean register(User user) {
+        if (shard(user.getUsername()).putIfAbsent(user.getUsername(), user) != null) {
+            return false;
+        }
+        long position = sequence.getAndIncrement();
+        chunk(position).set((int) (position & (CHUNK_SIZE - 1)), user);
+        return true;
+    }
+
+    public User get(String username) {
+        return shard(username).get(username);
+    }
+
+    public long size() {
+        return sequence.get();
+    }
+
+    /**
+     * Returns up to {@code limit} users in registration order starting at {@code cursor}.
+     * A registration that is still being published ends the page early; it shows up on
+     * the next one.
+     */
+    public CursorPage<User> page(long cursor, int limit) {
+        long position = Math.max(cursor, 0);
+        long end = Math.min(sequence.get(), position + limit);
+        List<User> items = new ArrayList<>((int) Math.max(0, end - position));
+        for (; position < end; position++) {
+            User user = at(position);
+            if (user == null) {
+                break;
+            }
+            items.add(user);
+        }
+        Long nextCursor = position < sequence.get() ? position : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Streams the users registered so far, in registration order, straight off the
+     * registration log.
+     */
+    public Stream<User> stream() {
+        long end = sequence.get();
+        Spliterator<User> spliterator = new Spliterators.AbstractSpliterator<>(end,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private long position;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super User> action) {
+                while (position < end) {
+                    User user = at(position++);
+                    if (user != null) {
+                        action.accept(user);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private ConcurrentHashMap<String, User> shard(String username) {
+        int h = username.hashCode();
+        return shards[(h ^ (h >>> 16)) & shardMask];
+    }
+
+    private User at(long position) {
+        AtomicReferenceArray<User> chunk = chunks.get((int) (position >>> CHUNK_SHIFT));
+        return chunk == null ? null : chunk.get((int) (position & (CHUNK_SIZE - 1)));
+    }
+
+    private AtomicReferenceArray<User> chunk(long position) {
+        int index = (int) (position >>> CHUNK_SHIFT);
+        if (index >= MAX_CHUNKS) {
+            throw new IllegalStateException("User registry is full");
+        }
+        AtomicReferenceArray<User> chunk = chunks.get(index);
+        if (chunk == null) {
+            chunks.compareAndSet(index, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+            chunk = chunks.get(index);
+        }
+        return chunk;
+    }
+}
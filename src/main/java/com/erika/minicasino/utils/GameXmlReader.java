@@ -0,0 +1,93 @@
+package com.erika.minicasino.utils;
+
+import com.erika.minicasino.model.Game;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streams {@code <game>} elements out of a {@code <games>} document one at a time.
+ * <p>
+ * Reads the same format {@link GameListWrapper} binds, but with a StAX cursor that
+ * fills each {@link Game} directly, so only the game being read is held in memory and
+ * no JAXB context or unmarshaller is needed per upload. Unknown elements are skipped;
+ * DTDs and external entities are disabled.
+ */
+public final class GameXmlReader {
+    private static final String ROOT_ELEMENT = "games";
+    private static final String GAME_ELEMENT = "game";
+
+    /** Thread-safe once configured, so one factory serves every upload. */
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private GameXmlReader() {
+    }
+
+    /**
+     * Passes each game to {@code sink} in document order. Exceptions thrown by the sink
+     * abort the read and propagate unchanged.
+     *
+     * @throws XMLStreamException if the document is malformed or its root is not {@code <games>}
+     * @throws NumberFormatException if a numeric field does not parse
+     */
+    public static void read(InputStream xml, Consumer<Game> sink) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(xml);
+        try {
+            reader.nextTag();
+            if (!ROOT_ELEMENT.equals(reader.getLocalName())) {
+                throw new XMLStreamException("Expected <" + ROOT_ELEMENT + "> but found <" + reader.getLocalName() + ">");
+            }
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (GAME_ELEMENT.equals(reader.getLocalName())) {
+                    sink.accept(readGame(reader));
+                } else {
+                    skipElement(reader);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Game readGame(XMLStreamReader reader) throws XMLStreamException {
+        Game game = new Game();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "id" -> game.setId(Long.valueOf(text(reader)));
+                case "name" -> game.setName(text(reader));
+                case "chanceOfWinning" -> game.setChanceOfWinning(Double.parseDouble(text(reader)));
+                case "winningMultiplier" -> game.setWinningMultiplier(Double.parseDouble(text(reader)));
+                case "minBet" -> game.setMinBet(Double.parseDouble(text(reader)));
+                case "maxBet" -> game.setMaxBet(Double.parseDouble(text(reader)));
+                default -> skipElement(reader);
+            }
+        }
+        return game;
+    }
+
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText().trim();
+    }
+
+    /** Skips the current element and everything inside it. */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
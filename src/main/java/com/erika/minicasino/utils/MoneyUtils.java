@@ -0,0 +1,19 @@
+package com.erika.minicasino.utils;
+
+/**
+ * Conversions between the API's decimal amounts and the wallet's long minor units (cents).
+ */
+public final class MoneyUtils {
+    public static final long MINOR_UNITS_PER_UNIT = 100;
+
+    private MoneyUtils() {
+    }
+
+    public static long toMinorUnits(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_UNIT);
+    }
+
+    public static double toMajorUnits(long minorUnits) {
+        return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+}
@@ -0,0 +1,63 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.metrics.BetMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the bet meters add to one accepted bet (three stage timings and the amount
+ * summary) and to one rejection, on one and four threads, against the discarding
+ * {@code NOOP} meters as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BetMetricsBenchmark {
+    private final BetMetrics noop = BetMetrics.NOOP;
+    private final BetMetrics recording = new BetMetrics(new SimpleMeterRegistry());
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (long game = 1; game <= 4; game++) {
+            recording.accepted(game, 10.0);
+            noop.accepted(game, 10.0);
+        }
+    }
+
+    private static void acceptedBet(BetMetrics metrics) {
+        metrics.validated(800);
+        metrics.reserved(45_000);
+        metrics.accepted(3L, 10.0);
+        metrics.settled(12_000);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void acceptedBetNoop() {
+        acceptedBet(noop);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void acceptedBet() {
+        acceptedBet(recording);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void acceptedBet4() {
+        acceptedBet(recording);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void rejection() {
+        recording.rejected(ErrorCode.PARAMS_ERROR);
+    }
+}
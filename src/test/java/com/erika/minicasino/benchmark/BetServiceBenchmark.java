@@ -0,0 +1,84 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.service.GameService;
+import com.erika.minicasino.service.impl.GameServiceImpl;
+import com.erika.minicasino.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code UserServiceImpl.placeBet} and {@code registerUser} end to end, in memory (the
+ * ledger is off), on one and four threads. {@code settlementDelayMs} is the simulated
+ * settlement time: 0 settles right behind the bet and includes settlement in the cost,
+ * 1000 measures placement alone while settlements queue up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BetServiceBenchmark {
+    private static final int PLAYERS = 1024;
+    private static final LocalDate BIRTHDATE = LocalDate.of(2000, 1, 1);
+
+    @Param({"0", "1000"})
+    private long settlementDelayMs;
+
+    private UserServiceImpl userService;
+    private final AtomicLong nextRegistration = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Player {
+        long bets = Thread.currentThread().getId() * 7919;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBet().setSettlementDelayMs(settlementDelayMs);
+        properties.getBet().setTicketRetentionMs(0);
+        GameService gameService = new GameServiceImpl();
+        gameService.addGame(new Game(100L, "Coin Flip", 0.5, 2.0, 1.0, 100.0));
+        userService = new UserServiceImpl(gameService, properties);
+        for (int i = 0; i < PLAYERS; i++) {
+            userService.registerUser(new User("Player", "player" + i, BIRTHDATE, 1_000_000_000.0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        userService.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BetTicket placeBet(Player player) {
+        return userService.placeBet("player" + (player.bets++ % PLAYERS), 100L, 10.0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BetTicket placeBet4(Player player) {
+        return userService.placeBet("player" + (player.bets++ % PLAYERS), 100L, 10.0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public User registerUser() {
+        return userService.registerUser(new User("Player", "new" + nextRegistration.incrementAndGet(), BIRTHDATE));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User registerUser4() {
+        return userService.registerUser(new User("Player", "new" + nextRegistration.incrementAndGet(), BIRTHDATE));
+    }
+}
@@ -0,0 +1,90 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.BetSummaryWindow;
+import com.erika.minicasino.model.BetSummery;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.service.GameService;
+import com.erika.minicasino.service.impl.GameServiceImpl;
+import com.erika.minicasino.service.impl.UserServiceImpl;
+import com.erika.minicasino.store.BetHistoryPage;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary and history reads for a player with {@code settledBets} bets behind them,
+ * spread over four games. Summaries come from running aggregates and history from the
+ * retained window, so neither should grow with the number of bets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BetSummaryBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int settledBets;
+
+    private UserServiceImpl userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBet().setSettlementDelayMs(0);
+        properties.getBet().setTicketRetentionMs(0);
+        GameService gameService = new GameServiceImpl();
+        for (long id = 100; id < 104; id++) {
+            gameService.addGame(new Game(id, "Game " + id, 0.5, 2.0, 1.0, 100.0));
+        }
+        userService = new UserServiceImpl(gameService, properties);
+        userService.registerUser(new User("Player", "player", LocalDate.of(2000, 1, 1), 1_000_000_000.0));
+        List<BetTicket> tickets = new ArrayList<>(settledBets);
+        for (int i = 0; i < settledBets; i++) {
+            tickets.add(userService.placeBet("player", 100 + i % 4, 10.0));
+        }
+        tickets.forEach(ticket -> ticket.getSettlement().join());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        userService.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BetSummery summaryAllTime() {
+        return userService.getBetSummary("player");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BetSummery summaryLastHour() {
+        return userService.getBetSummary("player", BetSummaryWindow.HOUR);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BetSummery summaryLastHour4() {
+        return userService.getBetSummary("player", BetSummaryWindow.HOUR);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<Long, BetSummery> summaryByGame() {
+        return userService.getBetSummaryByGame("player");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BetHistoryPage historyPage() {
+        return userService.getBetHistory("player", 0, 100);
+    }
+}
@@ -0,0 +1,81 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.store.GameCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bet-path game lookup: the boxed {@code HashMap<Long, Game>} the service used to keep
+ * against {@link GameCatalog#find(long)}, for contiguous IDs (dense array) and scattered
+ * IDs (open addressing). Run with {@code -prof gc} to confirm the catalog lookups do
+ * not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLookupBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10", "1000", "100000"})
+    private int games;
+
+    @Param({"dense", "sparse"})
+    private String ids;
+
+    private Map<Long, Game> hashMap;
+    private GameCatalog catalog;
+    private long[] lookups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Game> all = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            long id = "dense".equals(ids) ? i + 1 : (i + 1) * 1_000_003L;
+            all.add(new Game(id, "Game " + id, 0.5, 2.0, 1.0, 100.0));
+        }
+        hashMap = new HashMap<>();
+        for (Game game : all) {
+            hashMap.put(game.getId(), game);
+        }
+        catalog = GameCatalog.of(all);
+        lookups = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Spread the probes over the catalog but keep roughly 1 in 16 misses
+            int index = (int) ((i * 2_654_435_761L) % games);
+            lookups[i] = i % 16 == 0 ? -index - 1 : all.get(index).getId();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int boxedHashMap() {
+        int found = 0;
+        for (long id : lookups) {
+            if (hashMap.get(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int catalogIndex() {
+        int found = 0;
+        for (long id : lookups) {
+            if (catalog.find(id) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,50 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.service.impl.GameServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GameServiceImpl.getGameById} on one and four threads against a catalog of
+ * {@code games} entries, including the boxed-ID argument the controllers pass. Catalog
+ * uploads are measured by {@link GameXmlLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+    @Param({"3", "10000"})
+    private int games;
+
+    private GameServiceImpl gameService;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        long next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameService = new GameServiceImpl();
+        for (long id = 4; id <= games; id++) {
+            gameService.addGame(new Game(id, "Game " + id, 0.5, 2.0, 1.0, 100.0));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Game getGameById(Cursor cursor) {
+        return gameService.getGameById(1 + cursor.next++ % games);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Game getGameById4(Cursor cursor) {
+        return gameService.getGameById(1 + cursor.next++ % games);
+    }
+}
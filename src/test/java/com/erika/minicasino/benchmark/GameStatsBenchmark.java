@@ -0,0 +1,58 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.model.AccountEventType;
+import com.erika.minicasino.service.impl.GameServiceImpl;
+import com.erika.minicasino.service.impl.GameStatsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the per-game analytics add to each bet: recording a placement and a settlement
+ * for the same game on one and four threads, and reading the stats back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStatsBenchmark {
+    private GameStatsServiceImpl stats;
+    private AccountEvent placed;
+    private AccountEvent settled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stats = new GameStatsServiceImpl(new CasinoProperties(), new GameServiceImpl());
+        placed = new AccountEvent(AccountEventType.BET_PLACED, "bench", 1L, 1L, 10.0, null, null, 0.0,
+                System.currentTimeMillis());
+        settled = new AccountEvent(AccountEventType.BET_SETTLED, "bench", 1L, 1L, 10.0, 20.0, true, 0.0,
+                System.currentTimeMillis());
+    }
+
+    private void bet() {
+        stats.onAccountEvent(placed);
+        stats.onAccountEvent(settled);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordBet() {
+        bet();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordBet4() {
+        bet();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object readStats() {
+        return stats.getStats(1L);
+    }
+}
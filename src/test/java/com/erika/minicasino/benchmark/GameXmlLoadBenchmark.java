@@ -0,0 +1,59 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.service.impl.GameServiceImpl;
+import com.erika.minicasino.utils.GameListWrapper;
+import jakarta.xml.bind.JAXBContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XML catalog upload: the original path (new {@code JAXBContext} per upload, whole
+ * document unmarshalled into a list) against the streaming loader behind
+ * {@code /game/upload-xml}. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameXmlLoadBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int games;
+
+    private byte[] xml;
+    private GameServiceImpl gameService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("<games>");
+        for (int i = 1; i <= games; i++) {
+            builder.append("<game><id>").append(i).append("</id><name>Game ").append(i)
+                    .append("</name><chanceOfWinning>0.5</chanceOfWinning><winningMultiplier>2.0</winningMultiplier>")
+                    .append("<minBet>1.0</minBet><maxBet>100.0</maxBet></game>");
+        }
+        xml = builder.append("</games>").toString().getBytes(StandardCharsets.UTF_8);
+        gameService = new GameServiceImpl();
+    }
+
+    @Benchmark
+    public int contextPerUpload() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(GameListWrapper.class);
+        GameListWrapper wrapper = (GameListWrapper) context.createUnmarshaller().unmarshal(new ByteArrayInputStream(xml));
+        int loaded = 0;
+        for (Game game : wrapper.getGames()) {
+            loaded += game.getId() != null ? 1 : 0;
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public Map<Long, Game> streamingUpload() {
+        return gameService.loadFromXml(new ByteArrayInputStream(xml));
+    }
+}
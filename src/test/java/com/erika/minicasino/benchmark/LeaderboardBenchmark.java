@@ -0,0 +1,54 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.model.LeaderboardMetric;
+import com.erika.minicasino.stats.Leaderboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of keeping a leaderboard of {@code players} ranked: one settlement moving a random
+ * player on all three rankings, and reading the top 10 and top 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    @Param({"10000", "1000000"})
+    private int players;
+
+    private Leaderboard board;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = new Leaderboard();
+        usernames = new String[players];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < players; i++) {
+            usernames[i] = "player-" + i;
+            board.record(usernames[i], 1000, random.nextBoolean() ? 2000 : 0);
+        }
+    }
+
+    @Benchmark
+    public void recordSettlement() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        board.record(usernames[random.nextInt(players)], 1000, random.nextBoolean() ? 2000 : 0);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Ranked> top10() {
+        return board.top(LeaderboardMetric.NET_WINNINGS, 10);
+    }
+
+    @Benchmark
+    public List<Leaderboard.Ranked> top100() {
+        return board.top(LeaderboardMetric.NET_WINNINGS, 100);
+    }
+}
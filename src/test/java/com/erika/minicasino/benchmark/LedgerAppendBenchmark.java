@@ -0,0 +1,58 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.store.Ledger;
+import com.erika.minicasino.store.LedgerRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Durable append throughput of the ledger. With several threads appending, group
+ * commit lets one fsync cover many entries, so throughput should grow with the thread
+ * count even though every append waits for the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class LedgerAppendBenchmark {
+
+    @Param({"true", "false"})
+    private boolean fsync;
+
+    private Path directory;
+    private Ledger ledger;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ledger-bench");
+        ledger = Ledger.open(directory, fsync, 1024, record -> { });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ledger.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void appendSingleThread() {
+        ledger.append(LedgerRecord.settle(1, "player1", 1, 1_000, 2_000, true, 0)).join();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void appendSixteenThreads() {
+        ledger.append(LedgerRecord.settle(1, "player1", 1, 1_000, 2_000, true, 0)).join();
+    }
+}
@@ -0,0 +1,60 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.rng.OutcomeRng;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome draws per second with one and several settlement threads: the single shared
+ * {@code java.util.Random} the service used to hold, the per-thread engine and the
+ * seeded audit engine. The shared generator should flatten out as threads are added
+ * while the per-thread engine keeps scaling with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutcomeRngBenchmark {
+    private final Random shared = new Random();
+    private final OutcomeRng perThread = OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, null);
+    private final OutcomeRng seeded = OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, 42L);
+
+    @State(Scope.Thread)
+    public static class Ticket {
+        long next = Thread.currentThread().getId() << 32;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double sharedRandom() {
+        return shared.nextDouble();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double sharedRandom4() {
+        return shared.nextDouble();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double perThreadEngine(Ticket ticket) {
+        return perThread.nextDouble(ticket.next++);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double perThreadEngine4(Ticket ticket) {
+        return perThread.nextDouble(ticket.next++);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double seededEngine4(Ticket ticket) {
+        return seeded.nextDouble(ticket.next++);
+    }
+}
@@ -0,0 +1,82 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.exception.BusinessException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a rejected bet into a response code: throwing the regular
+ * {@link BusinessException}, throwing the stackless rejection, and returning a failed
+ * {@link ServiceResult}. {@code depth} is how many frames sit between the check and the
+ * caller; a request under Spring MVC runs about a hundred frames deep, and filling in the
+ * stack trace grows with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectPathBenchmark {
+    @Param({"1", "100"})
+    int depth;
+
+    private long balance = 0;
+
+    @Benchmark
+    public int stackfulException() {
+        try {
+            return throwStackful(depth);
+        } catch (BusinessException e) {
+            return e.getCode();
+        }
+    }
+
+    @Benchmark
+    public int stacklessException() {
+        try {
+            return throwStackless(depth);
+        } catch (BusinessException e) {
+            return e.getCode();
+        }
+    }
+
+    @Benchmark
+    public int serviceResult() {
+        ServiceResult<Long> result = reject(depth);
+        return result.isOk() ? 0 : result.getErrorCode().getCode();
+    }
+
+    private int throwStackful(int frames) {
+        if (frames > 1) {
+            return throwStackful(frames - 1);
+        }
+        if (balance < 10) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "Insufficient balance");
+        }
+        return 0;
+    }
+
+    private int throwStackless(int frames) {
+        if (frames > 1) {
+            return throwStackless(frames - 1);
+        }
+        if (balance < 10) {
+            throw BusinessException.rejection(ErrorCode.SYSTEM_ERROR, "Insufficient balance");
+        }
+        return 0;
+    }
+
+    private ServiceResult<Long> reject(int frames) {
+        if (frames > 1) {
+            return reject(frames - 1);
+        }
+        if (balance < 10) {
+            return ServiceResult.rejected(ErrorCode.SYSTEM_ERROR, "Insufficient balance");
+        }
+        return ServiceResult.ok(balance);
+    }
+}
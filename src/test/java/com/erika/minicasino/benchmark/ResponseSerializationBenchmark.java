@@ -0,0 +1,72 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.common.BaseResponse;
+import com.erika.minicasino.common.ResultUtils;
+import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the {@link BaseResponse} payloads the busiest endpoints return,
+ * with an {@code ObjectMapper} configured the way Spring MVC configures its own: a bet
+ * ticket, a page of 100 history records and the game list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private BaseResponse<BetTicket> ticket;
+    private BaseResponse<List<BetRecord>> history;
+    private BaseResponse<List<Game>> games;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BetTicket settled = new BetTicket(42L, "erika123", 1L, 10.0);
+        settled.settle(new BetRecord(1L, 10.0, 20.0, true, 1_735_689_600_000L));
+        ticket = ResultUtils.success(settled);
+        List<BetRecord> records = new ArrayList<>();
+        List<Game> gameList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(new BetRecord((long) i % 4, 10.0, i % 2 == 0 ? 20.0 : 0.0, i % 2 == 0, 1_735_689_600_000L + i));
+            gameList.add(new Game((long) i, "Game " + i, 0.5, 2.0, 1.0, 100.0));
+        }
+        history = ResultUtils.success(records);
+        games = ResultUtils.success(gameList);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] betTicket() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticket);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] betTicket4() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticket);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] historyPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] gameList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(games);
+    }
+}
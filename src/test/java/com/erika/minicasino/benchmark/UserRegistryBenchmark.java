@@ -0,0 +1,54 @@
+package com.erika.minicasino.benchmark;
+
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.store.UserRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration and lookup cost against registries that already hold up to a few
+ * million players; the numbers should stay flat as {@code registeredUsers} grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserRegistryBenchmark {
+    private static final LocalDate BIRTHDATE = LocalDate.of(2000, 1, 1);
+
+    @Param({"0", "100000", "2000000"})
+    private int registeredUsers;
+
+    private UserRegistry registry;
+    private final AtomicLong next = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new UserRegistry(64, Math.max(registeredUsers, 1 << 20));
+        for (int i = 0; i < registeredUsers; i++) {
+            registry.register(new User("Player", "player" + i, BIRTHDATE));
+        }
+        next.set(registeredUsers);
+    }
+
+    @Benchmark
+    public boolean register() {
+        return registry.register(new User("Player", "player" + next.getAndIncrement(), BIRTHDATE));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean registerContended() {
+        return registry.register(new User("Player", "player" + next.getAndIncrement(), BIRTHDATE));
+    }
+
+    @Benchmark
+    public User lookup() {
+        return registry.get("player" + (next.get() >>> 1));
+    }
+}
@@ -1,5 +1,6 @@
 package com.erika.minicasino.controller;
 
+import com.erika.minicasino.model.CatalogDiff;
 import com.erika.minicasino.model.Game;
 import com.erika.minicasino.service.GameService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,11 +15,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,9 +42,13 @@ public class GameControllerTest {
 
     private Game testGame;
 
+    /** The controller caches responses per catalog version; each test gets a fresh one. */
+    private static final AtomicLong catalogVersions = new AtomicLong();
+
     @BeforeEach
     void setUp() {
         testGame = new Game(1L, "Roulette", 0.5, 2.0, 100.0, 5.0);
+        Mockito.when(gameService.getCatalogVersion()).thenReturn(catalogVersions.incrementAndGet());
     }
 
     @Test
@@ -69,6 +78,18 @@ public class GameControllerTest {
                 .andExpect(jsonPath("$.data.chanceOfWinning").value(0.5));
     }
 
+    @Test
+    void getGameStats_ShouldReturnExpectedRtp() throws Exception {
+        Mockito.when(gameService.getGameById(1L)).thenReturn(testGame);
+
+        mockMvc.perform(get("/game/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.name").value("Roulette"))
+                .andExpect(jsonPath("$.data.expectedRtp").value(1.0))
+                .andExpect(jsonPath("$.data.windowSeconds").value(3600));
+    }
+
     @Test
     void addGame_ShouldReturnCreatedGame() throws Exception {
         Mockito.when(gameService.addGame(Mockito.any(Game.class))).thenReturn(testGame);
@@ -80,4 +101,60 @@ public class GameControllerTest {
                 .andExpect(jsonPath("$.code").value(200))
                 .andExpect(jsonPath("$.data.name").value("Roulette"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void uploadXmlDiff_ShouldReturnOnlyTheDelta() throws Exception {
+        CatalogDiff diff = new CatalogDiff(List.of(testGame), List.of(), List.of(3L));
+        Mockito.when(gameService.mergeFromXml(Mockito.any(), Mockito.eq(true))).thenReturn(diff);
+        MockMultipartFile file = new MockMultipartFile("file", "games.xml", MediaType.APPLICATION_XML_VALUE,
+                "<games/>".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/game/upload-xml").file(file)
+                        .param("mode", "diff")
+                        .param("removeMissing", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.added[0].name").value("Roulette"))
+                .andExpect(jsonPath("$.data.changed.length()").value(0))
+                .andExpect(jsonPath("$.data.removed[0]").value(3));
+        Mockito.verify(gameService, Mockito.never()).loadFromXml(Mockito.any());
+    }
+
+    @Test
+    void listGames_ShouldServeCachedBytesAndHonourETag() throws Exception {
+        Mockito.when(gameService.getAllGames()).thenReturn(List.of(testGame));
+
+        String etag = mockMvc.perform(get("/game"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.data[0].name").value("Roulette"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/game").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/game"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        Mockito.verify(gameService, Mockito.times(1)).getAllGames();
+
+        // A new catalog version rebuilds the body and changes the tag
+        Mockito.when(gameService.getCatalogVersion()).thenReturn(catalogVersions.incrementAndGet());
+        Mockito.when(gameService.getAllGames()).thenReturn(List.of(testGame, new Game(2L, "Blackjack", 0.4, 3.0, 10.0, 200.0)));
+        mockMvc.perform(get("/game").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void getGame_ShouldReturnNotModifiedForMatchingETag() throws Exception {
+        Mockito.when(gameService.getGameById(1L)).thenReturn(testGame);
+
+        String etag = mockMvc.perform(get("/game/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/game/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(gameService, Mockito.times(1)).getGameById(1L);
+    }
+}
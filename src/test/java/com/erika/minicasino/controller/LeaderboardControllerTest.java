@@ -0,0 +1,55 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.model.LeaderboardEntry;
+import com.erika.minicasino.model.LeaderboardMetric;
+import com.erika.minicasino.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LeaderboardController.class)
+class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @Test
+    void getTop_ShouldDefaultToNetWinnings() throws Exception {
+        Mockito.when(leaderboardService.getTop(LeaderboardMetric.NET_WINNINGS, 10))
+                .thenReturn(List.of(new LeaderboardEntry(1, "erika123", 250.0), new LeaderboardEntry(2, "bo123", 40.0)));
+
+        mockMvc.perform(get("/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data[0].rank").value(1))
+                .andExpect(jsonPath("$.data[0].username").value("erika123"))
+                .andExpect(jsonPath("$.data[1].value").value(40.0));
+    }
+
+    @Test
+    void getTopForGame_ShouldPassMetricAndLimit() throws Exception {
+        Mockito.when(leaderboardService.getTop(LeaderboardMetric.BIGGEST_WIN, 2L, 3))
+                .thenReturn(List.of(new LeaderboardEntry(1, "erika123", 900.0)));
+
+        mockMvc.perform(get("/leaderboard/games/2").param("metric", "BIGGEST_WIN").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].value").value(900.0));
+    }
+
+    @Test
+    void getTop_RejectsOversizedLimit() throws Exception {
+        mockMvc.perform(get("/leaderboard").param("limit", "1000"))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+}
@@ -0,0 +1,123 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveUserController.class)
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void placeBet_CompletesWhenReservationIsDurable() throws Exception {
+        CompletableFuture<ServiceResult<BetTicket>> durable = new CompletableFuture<>();
+        Mockito.when(userService.placeBetAsync("erika123", 1L, 10.0)).thenReturn(durable);
+
+        MvcResult result = mockMvc.perform(post("/reactive/user/placeBet")
+                        .param("username", "erika123")
+                        .param("gameId", "1")
+                        .param("betAmount", "10.0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        durable.complete(ServiceResult.ok(new BetTicket(7L, "erika123", 1L, 10.0)));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.ticketId").value(7))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
+    @Test
+    void placeBet_RejectionIsReturnedAsErrorResponse() throws Exception {
+        Mockito.when(userService.placeBetAsync("erika123", 1L, 10.0)).thenReturn(CompletableFuture.completedFuture(
+                ServiceResult.rejected(ErrorCode.SYSTEM_ERROR, "Insufficient balance")));
+
+        MvcResult result = mockMvc.perform(post("/reactive/user/placeBet")
+                        .param("username", "erika123")
+                        .param("gameId", "1")
+                        .param("betAmount", "10.0"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(jsonPath("$.code").value(ErrorCode.SYSTEM_ERROR.getCode()))
+                .andExpect(jsonPath("$.description").value("Insufficient balance"));
+    }
+
+    @Test
+    void streamResults_EmitsInSettlementOrderAndSkipsUnknownTickets() throws Exception {
+        CompletableFuture<BetTicket> first = new CompletableFuture<>();
+        BetTicket second = new BetTicket(8L, "erika123", 1L, 10.0);
+        second.settle(new BetRecord(1L, 10.0, 20.0, true));
+        Mockito.when(userService.awaitBetTicket(7L, 1000L)).thenReturn(first);
+        Mockito.when(userService.awaitBetTicket(8L, 1000L)).thenReturn(CompletableFuture.completedFuture(second));
+        Mockito.when(userService.awaitBetTicket(9L, 1000L))
+                .thenThrow(new BusinessException(ErrorCode.NULL_ERROR, "Bet ticket not found"));
+
+        MvcResult result = mockMvc.perform(post("/reactive/user/bets/results")
+                        .param("waitMs", "1000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[7, 8, 9]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        BetTicket settledLater = new BetTicket(7L, "erika123", 1L, 10.0);
+        settledLater.settle(new BetRecord(1L, 10.0, 0.0, false));
+        first.complete(settledLater);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"ticketId\":8")))
+                .andExpect(content().string(not(containsString("\"ticketId\":9"))))
+                .andExpect(result1 -> {
+                    String body = result1.getResponse().getContentAsString();
+                    if (body.indexOf("\"ticketId\":8") > body.indexOf("\"ticketId\":7")) {
+                        throw new AssertionError("Settled ticket should be streamed first: " + body);
+                    }
+                });
+    }
+
+    @Test
+    void streamResults_RejectsEmptyRequest() throws Exception {
+        mockMvc.perform(post("/reactive/user/bets/results")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(jsonPath("$.code").value(ErrorCode.PARAMS_ERROR.getCode()));
+    }
+
+    @Test
+    void getBalance_IsServedAsync() throws Exception {
+        Mockito.when(userService.getBalance("erika123")).thenReturn(42.5);
+
+        MvcResult result = mockMvc.perform(get("/reactive/user/balance").param("username", "erika123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(jsonPath("$.data").value(42.5));
+    }
+}
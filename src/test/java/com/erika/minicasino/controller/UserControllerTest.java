@@ -1,9 +1,16 @@
 package com.erika.minicasino.controller;
 
 import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ServiceResult;
 import com.erika.minicasino.controller.UserController;
 import com.erika.minicasino.exception.BusinessException;
 import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetRequest;
+import com.erika.minicasino.model.BetResult;
+import com.erika.minicasino.model.BetSummaryWindow;
+import com.erika.minicasino.model.BetSummery;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.CursorPage;
 import com.erika.minicasino.model.User;
 import com.erika.minicasino.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,11 +24,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -99,10 +111,7 @@ class UserControllerTest {
     @Test
     void getBalance_ShouldReturnUserBalance() throws Exception {
         String username = "erika123";
-        User mockUser = new User("erika", username, LocalDate.of(2000, 1, 1));
-        mockUser.setBalance(150.0);
-
-        Mockito.when(userService.getUser(username)).thenReturn(mockUser);
+        Mockito.when(userService.getBalance(username)).thenReturn(150.0);
 
         mockMvc.perform(get("/user/balance")
                         .param("username", username))
@@ -112,24 +121,154 @@ class UserControllerTest {
     }
 
     @Test
-    void placeBet_ShouldReturnBetRecord() throws Exception {
+    void placeBet_ShouldReturnPendingTicket() throws Exception {
         String username = "erika123";
         long gameId = 1L;
         double betAmount = 10.0;
 
-        // Create a mock BetRecord to return
-        BetRecord mockBet = new BetRecord(gameId, betAmount, 20.0, true);
+        BetTicket mockTicket = new BetTicket(7L, username, gameId, betAmount);
 
-        Mockito.when(userService.placeBet(username, gameId, betAmount)).thenReturn(mockBet);
+        Mockito.when(userService.tryPlaceBet(username, gameId, betAmount)).thenReturn(ServiceResult.ok(mockTicket));
 
         mockMvc.perform(post("/user/placeBet")
                         .param("username", username)
                         .param("gameId", String.valueOf(gameId))
                         .param("betAmount", String.valueOf(betAmount)))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.ticketId").value(7))
                 .andExpect(jsonPath("$.data.gameId").value((int) gameId))
                 .andExpect(jsonPath("$.data.amountBet").value(betAmount))
-                .andExpect(jsonPath("$.data.amountWon").value(20.0))
-                .andExpect(jsonPath("$.data.win").value(true));
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
+    @Test
+    void placeBet_RejectionIsReturnedAsErrorResponse() throws Exception {
+        Mockito.when(userService.tryPlaceBet("erika123", 1L, 10.0))
+                .thenReturn(ServiceResult.rejected(ErrorCode.SYSTEM_ERROR, "Insufficient balance"));
+
+        mockMvc.perform(post("/user/placeBet")
+                        .param("username", "erika123")
+                        .param("gameId", "1")
+                        .param("betAmount", "10.0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(ErrorCode.SYSTEM_ERROR.getCode()))
+                .andExpect(jsonPath("$.description").value("Insufficient balance"))
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    void getBet_ShouldReturnSettledBetRecord() throws Exception {
+        BetTicket ticket = new BetTicket(7L, "erika123", 1L, 10.0);
+        ticket.settle(new BetRecord(1L, 10.0, 20.0, true));
+
+        Mockito.when(userService.awaitBetTicket(7L, 1000L))
+                .thenReturn(CompletableFuture.completedFuture(ticket));
+
+        MvcResult result = mockMvc.perform(get("/user/bet/7").param("waitMs", "1000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("SETTLED"))
+                .andExpect(jsonPath("$.data.result.amountBet").value(10.0))
+                .andExpect(jsonPath("$.data.result.amountWon").value(20.0))
+                .andExpect(jsonPath("$.data.result.win").value(true));
+    }
+
+    @Test
+    void getAllUsers_ShouldReturnPageWithoutHistory() throws Exception {
+        Mockito.when(userService.getUsers(0L, 2)).thenReturn(new CursorPage<>(List.of(testUser), 1L));
+        Mockito.when(userService.getBalance("erika123")).thenReturn(42.0);
+
+        mockMvc.perform(get("/user").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].username").value("erika123"))
+                .andExpect(jsonPath("$.data.items[0].balance").value(42.0))
+                .andExpect(jsonPath("$.data.items[0].betHistory").doesNotExist())
+                .andExpect(jsonPath("$.data.nextCursor").value(1));
+    }
+
+    @Test
+    void getAllUsers_RejectsOversizedPage() throws Exception {
+        mockMvc.perform(get("/user").param("limit", "100000"))
+                .andExpect(jsonPath("$.code").value(40000));
+    }
+
+    @Test
+    void getAllUsers_RejectsNegativeCursor() throws Exception {
+        mockMvc.perform(get("/user").param("cursor", "-1500000000"))
+                .andExpect(jsonPath("$.code").value(40000));
+        Mockito.verify(userService, Mockito.never()).getUsers(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    void getUser_ShouldReturnLiveBalance() throws Exception {
+        testUser.setBalance(100.0);
+        Mockito.when(userService.getUser("erika123")).thenReturn(testUser);
+        Mockito.when(userService.getBalance("erika123")).thenReturn(42.5);
+
+        mockMvc.perform(get("/user/erika123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.username").value("erika123"))
+                .andExpect(jsonPath("$.data.balance").value(42.5));
+    }
+
+    @Test
+    void exportUsers_ShouldStreamJsonArray() throws Exception {
+        User other = new User("bo", "bo123", LocalDate.of(1999, 5, 5));
+        Mockito.when(userService.streamUsers()).thenReturn(Stream.of(testUser, other));
+        Mockito.when(userService.getBalance(Mockito.anyString())).thenReturn(5.0);
+
+        MvcResult result = mockMvc.perform(get("/user/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].username").value("bo123"))
+                .andExpect(jsonPath("$[1].birthdate").value("1999-05-05"))
+                .andExpect(jsonPath("$[1].balance").value(5.0));
+    }
+
+    @Test
+    void getSummary_ShouldUseRequestedWindow() throws Exception {
+        Mockito.when(userService.getBetSummary("erika123", BetSummaryWindow.HOUR))
+                .thenReturn(new BetSummery(3, 30.0, 50.0));
+
+        mockMvc.perform(get("/user/betSummary")
+                        .param("userName", "erika123")
+                        .param("window", "HOUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.numberOfBets").value(3))
+                .andExpect(jsonPath("$.data.totalWon").value(50.0));
+    }
+
+    @Test
+    void placeBets_ShouldFillDefaultUserAndReturnPerItemResults() throws Exception {
+        List<BetRequest> expected = List.of(new BetRequest("erika123", 1L, 10.0), new BetRequest("bo456", 2L, 5.0));
+        Mockito.when(userService.placeBets(expected)).thenReturn(List.of(
+                BetResult.accepted(7L),
+                BetResult.rejected(ErrorCode.SYSTEM_ERROR, "Insufficient balance")));
+
+        mockMvc.perform(post("/user/placeBets")
+                        .param("username", "erika123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"gameId\":1,\"amount\":10.0},{\"username\":\"bo456\",\"gameId\":2,\"amount\":5.0}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].code").value(200))
+                .andExpect(jsonPath("$.data[0].ticketId").value(7))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data[1].code").value(ErrorCode.SYSTEM_ERROR.getCode()))
+                .andExpect(jsonPath("$.data[1].ticketId").doesNotExist());
+    }
+
+    @Test
+    void placeBets_EmptyBatchIsRejected() throws Exception {
+        mockMvc.perform(post("/user/placeBets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(jsonPath("$.code").value(ErrorCode.PARAMS_ERROR.getCode()));
     }
-}
\ No newline at end of file
+}
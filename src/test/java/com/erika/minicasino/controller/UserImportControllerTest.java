@@ -0,0 +1,53 @@
+package com.erika.minicasino.controller;
+
+import com.erika.minicasino.model.ImportFormat;
+import com.erika.minicasino.model.ImportReport;
+import com.erika.minicasino.model.ImportRowError;
+import com.erika.minicasino.service.UserImportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UserImportController.class)
+class UserImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService importService;
+
+    @Test
+    void importUsers_CsvBodyIsPassedAsCsv() throws Exception {
+        Mockito.when(importService.importUsers(Mockito.any(), Mockito.eq(ImportFormat.CSV)))
+                .thenReturn(new ImportReport(2, 1, 1, List.of(new ImportRowError(3, 40100, "Username already exists!")), false, false, List.of()));
+
+        mockMvc.perform(post("/user/import")
+                        .contentType("text/csv")
+                        .content("name,username,birthdate\nBo,bo123,2000-01-01\nBo,bo123,2000-01-01\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.errors[0].row").value(3))
+                .andExpect(jsonPath("$.data.errors[0].code").value(40100));
+    }
+
+    @Test
+    void importDeposits_NdjsonBodyIsPassedAsNdjson() throws Exception {
+        Mockito.when(importService.importDeposits(Mockito.any(), Mockito.eq(ImportFormat.NDJSON)))
+                .thenReturn(new ImportReport(1, 1, 0, List.of(), false, false, List.of()));
+
+        mockMvc.perform(post("/user/import/deposits")
+                        .contentType("application/x-ndjson")
+                        .content("{\"username\":\"bo123\",\"amount\":5.0}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(1));
+    }
+}
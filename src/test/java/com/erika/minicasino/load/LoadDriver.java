@@ -0,0 +1,365 @@
+package com.erika.minicasino.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator for the REST API.
+ * <p>
+ * Requests are issued on a fixed schedule of {@code rate} per second whatever the server
+ * does, and every latency is measured from the request's scheduled start rather than from
+ * when it was actually sent. A stall therefore shows up in the percentiles for every
+ * request that should have been sent during it, instead of silently lowering the offered
+ * load (coordinated omission). The time from actual send to response is recorded
+ * separately as service time.
+ * <p>
+ * Each request times out after {@code requestTimeoutSeconds}. Requests still outstanding
+ * when the run has drained for {@code drainSeconds} are recorded as failed, with the
+ * latency they had reached, so a server that stops answering cannot drop out of the
+ * percentiles.
+ * <p>
+ * Settings are read from {@code load.*} system properties and may be overridden with
+ * {@code key=value} arguments:
+ * <pre>
+ * mvn -Pload test -Dload.rate=500 -Dload.durationSeconds=60
+ * </pre>
+ */
+public class LoadDriver {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Config config;
+    private final HttpClient client;
+    private final ExecutorService httpExecutor;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong registrations = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Set<Outstanding> outstanding = ConcurrentHashMap.newKeySet();
+    private final List<String> players = new ArrayList<>();
+    private final List<double[]> games = new ArrayList<>();
+
+    public LoadDriver(Config config) {
+        this.config = config;
+        AtomicInteger counter = new AtomicInteger();
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(1, config.httpThreads), runnable -> {
+            Thread thread = new Thread(runnable, "load-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = Config.fromSystemProperties();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            config.set(arg.substring(0, split), arg.substring(split + 1));
+        }
+        System.out.println("Load: " + config);
+        LoadReport report = new LoadDriver(config).run();
+        report.print(System.out);
+    }
+
+    /** Seeds players, runs the warmup and measured phases and returns the measured results. */
+    public LoadReport run() throws IOException, InterruptedException {
+        try {
+            prepare();
+            Operation[] schedule = config.schedule();
+            LoadReport report = new LoadReport(config.durationSeconds);
+            long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.rate);
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+            long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+            for (long i = 0; ; i++) {
+                long intended = start + i * interval;
+                if (intended >= end) {
+                    break;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                LoadReport.Recorder recorder = intended >= measureFrom ? report.get(operation) : null;
+                if (inFlight.get() >= config.maxInFlight) {
+                    // Past this point the client, not the server, would be the bottleneck
+                    if (recorder != null) {
+                        recorder.dropped();
+                    }
+                    continue;
+                }
+                send(operation, intended, recorder);
+            }
+            long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.drainSeconds);
+            while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+                Thread.sleep(10);
+            }
+            long now = System.nanoTime();
+            for (Outstanding request : outstanding) {
+                if (request.finish()) {
+                    request.recorder.failed(now - request.intended, now - request.sent);
+                }
+            }
+            return report;
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private void prepare() throws IOException, InterruptedException {
+        JsonNode list = JSON.readTree(get("/game")).path("data");
+        for (JsonNode game : list) {
+            games.add(new double[]{game.path("id").asLong(), game.path("minBet").asDouble(), game.path("maxBet").asDouble()});
+        }
+        if (games.isEmpty()) {
+            throw new IllegalStateException("No games at " + config.baseUrl + "/game");
+        }
+        for (int i = 0; i < config.users; i++) {
+            String username = "load-" + runId + "-" + i;
+            HttpResponse<String> response = client.send(registerRequest(username, 1_000_000_000.0),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200 || !isSuccess(response.body())) {
+                throw new IllegalStateException("Cannot register " + username + ": " + response.body());
+            }
+            players.add(username);
+        }
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private void send(Operation operation, long intended, LoadReport.Recorder recorder) {
+        HttpRequest request = request(operation);
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        Outstanding pending = recorder == null ? null : new Outstanding(intended, sent, recorder);
+        if (pending != null) {
+            outstanding.add(pending);
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long now = System.nanoTime();
+                    if (pending != null && pending.finish()) {
+                        outstanding.remove(pending);
+                        if (error != null || response.statusCode() != 200) {
+                            recorder.failed(now - intended, now - sent);
+                        } else if (!isSuccess(response.body())) {
+                            recorder.rejected(now - intended, now - sent);
+                        } else {
+                            recorder.succeeded(now - intended, now - sent);
+                        }
+                    }
+                    inFlight.decrementAndGet();
+                    return null;
+                });
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String player = players.get(random.nextInt(players.size()));
+        switch (operation) {
+            case REGISTER:
+                return registerRequest("load-" + runId + "-new-" + registrations.incrementAndGet(), 0);
+            case DEPOSIT:
+                return post("/user/deposit?username=" + encode(player) + "&amount=100");
+            case PLACE_BET:
+                double[] game = games.get(random.nextInt(games.size()));
+                double amount = Math.max(game[1], Math.min(game[2], 10.0));
+                return post("/user/placeBet?username=" + encode(player) + "&gameId=" + (long) game[0]
+                        + "&betAmount=" + amount);
+            case BET_SUMMARY:
+                return newRequest("/user/betSummary?userName=" + encode(player)).GET().build();
+            case GAME_LIST:
+                return newRequest("/game").GET().build();
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private HttpRequest registerRequest(String username, double balance) {
+        String body = "{\"name\":\"Load\",\"username\":\"" + username + "\",\"birthdate\":\"1990-01-01\",\"balance\":"
+                + balance + "}";
+        return newRequest("/user/register")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest post(String pathAndQuery) {
+        return newRequest(pathAndQuery)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest.Builder newRequest(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl + pathAndQuery))
+                .timeout(Duration.ofSeconds(config.requestTimeoutSeconds));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSuccess(String body) {
+        return body != null && body.startsWith("{\"code\":200");
+    }
+
+    /** A measured request not yet recorded; recorded once, by its response or by the end of the drain. */
+    private static final class Outstanding {
+        final long intended;
+        final long sent;
+        final LoadReport.Recorder recorder;
+        final AtomicBoolean finished = new AtomicBoolean();
+
+        Outstanding(long intended, long sent, LoadReport.Recorder recorder) {
+            this.intended = intended;
+            this.sent = sent;
+            this.recorder = recorder;
+        }
+
+        boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+    }
+
+    public enum Operation {
+        REGISTER("register"),
+        DEPOSIT("deposit"),
+        PLACE_BET("placeBet"),
+        BET_SUMMARY("betSummary"),
+        GAME_LIST("games");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation " + key);
+        }
+    }
+
+    public static class Config {
+        /** Server to load, without a trailing slash. */
+        String baseUrl = "http://localhost:8080";
+        /** Requests started per second. */
+        int rate = 200;
+        /** Length of the measured phase. */
+        int durationSeconds = 30;
+        /** Load applied before measuring, to warm the JIT and connection pool. */
+        int warmupSeconds = 5;
+        /** Players registered up front and shared by deposit, placeBet and betSummary. */
+        int users = 1000;
+        /** Relative weight of each operation, as name=weight pairs. */
+        Map<Operation, Integer> mix = parseMix("register=5,deposit=10,placeBet=55,betSummary=15,games=15");
+        /** Requests allowed outstanding before new ones are counted as dropped. */
+        int maxInFlight = 10_000;
+        /** Threads completing HTTP responses. */
+        int httpThreads = 4;
+        /** How long a request may take before it is abandoned and counted as failed. */
+        int requestTimeoutSeconds = 10;
+        /** How long to wait for outstanding requests after the last one is sent. */
+        int drainSeconds = 30;
+
+        public static Config fromSystemProperties() {
+            Config config = new Config();
+            for (String key : List.of("baseUrl", "rate", "durationSeconds", "warmupSeconds", "users", "mix",
+                    "maxInFlight", "httpThreads", "requestTimeoutSeconds", "drainSeconds")) {
+                String value = System.getProperty("load." + key);
+                if (value != null && !value.isBlank()) {
+                    config.set(key, value);
+                }
+            }
+            return config;
+        }
+
+        public Config set(String key, String value) {
+            switch (key) {
+                case "baseUrl": baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value; break;
+                case "rate": rate = Integer.parseInt(value); break;
+                case "durationSeconds": durationSeconds = Integer.parseInt(value); break;
+                case "warmupSeconds": warmupSeconds = Integer.parseInt(value); break;
+                case "users": users = Integer.parseInt(value); break;
+                case "mix": mix = parseMix(value); break;
+                case "maxInFlight": maxInFlight = Integer.parseInt(value); break;
+                case "httpThreads": httpThreads = Integer.parseInt(value); break;
+                case "requestTimeoutSeconds": requestTimeoutSeconds = Integer.parseInt(value); break;
+                case "drainSeconds": drainSeconds = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown setting " + key);
+            }
+            return this;
+        }
+
+        static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String part : mix.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Expected name=weight in mix, got " + part);
+                }
+                weights.put(Operation.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+            }
+            return weights;
+        }
+
+        /** One slot per unit of weight, so a uniform pick follows the mix. */
+        Operation[] schedule() {
+            List<Operation> slots = new ArrayList<>();
+            mix.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    slots.add(operation);
+                }
+            });
+            if (slots.isEmpty()) {
+                throw new IllegalArgumentException("Mix has no weight");
+            }
+            return slots.toArray(new Operation[0]);
+        }
+
+        @Override
+        public String toString() {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            mix.forEach((operation, weight) -> weights.put(operation.key, weight));
+            return baseUrl + " at " + rate + "/s for " + durationSeconds + "s after " + warmupSeconds + "s warmup, "
+                    + users + " players, mix " + weights;
+        }
+    }
+}
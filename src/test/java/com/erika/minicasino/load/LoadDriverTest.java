@@ -0,0 +1,34 @@
+package com.erika.minicasino.load;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoadDriverTest {
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testShortRunReachesEveryEndpointInTheMix() throws Exception {
+        LoadDriver.Config config = new LoadDriver.Config()
+                .set("baseUrl", "http://localhost:" + port)
+                .set("rate", "100")
+                .set("durationSeconds", "2")
+                .set("warmupSeconds", "0")
+                .set("users", "5")
+                .set("mix", "register=1,deposit=1,placeBet=1,betSummary=1,games=1");
+
+        LoadReport report = new LoadDriver(config).run();
+
+        assertEquals(200, report.getCompleted() + report.getDropped(), 10);
+        assertEquals(0, report.getFailed());
+        assertEquals(0, report.getDropped());
+        for (LoadDriver.Operation operation : LoadDriver.Operation.values()) {
+            assertTrue(report.get(operation).getOk() > 0, operation + " never succeeded");
+        }
+        assertTrue(report.getResponseTime().getValueAtPercentile(99) >= report.getServiceTime().getValueAtPercentile(50));
+    }
+}
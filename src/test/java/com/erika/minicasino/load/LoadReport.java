@@ -0,0 +1,132 @@
+package com.erika.minicasino.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measured-phase results of a {@link LoadDriver} run: per operation, the outcome counts
+ * and a histogram of response times taken from each request's scheduled start, plus an
+ * overall histogram of service times taken from the actual send. A large gap between the
+ * two means requests queued in the client or the server before being served.
+ */
+public class LoadReport {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final int durationSeconds;
+    private final Map<LoadDriver.Operation, Recorder> recorders = new EnumMap<>(LoadDriver.Operation.class);
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    LoadReport(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+        for (LoadDriver.Operation operation : LoadDriver.Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+    }
+
+    public Recorder get(LoadDriver.Operation operation) {
+        return recorders.get(operation);
+    }
+
+    /** Response times of every operation, from scheduled start, in microseconds. */
+    public Histogram getResponseTime() {
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        recorders.values().forEach(recorder -> total.add(recorder.responseTime));
+        return total;
+    }
+
+    /** Service times of every operation, from actual send, in microseconds. */
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getCompleted() {
+        return recorders.values().stream().mapToLong(Recorder::getCompleted).sum();
+    }
+
+    public long getFailed() {
+        return recorders.values().stream().mapToLong(recorder -> recorder.failed.sum()).sum();
+    }
+
+    public long getDropped() {
+        return recorders.values().stream().mapToLong(recorder -> recorder.dropped.sum()).sum();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-12s %9s %9s %9s %9s %9s %10s %10s %10s %10s%n", "operation", "requests", "ok", "rejected",
+                "failed", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        recorders.forEach((operation, recorder) -> {
+            if (recorder.getCompleted() + recorder.dropped.sum() > 0) {
+                row(out, operation.key, recorder.responseTime, recorder.ok.sum(), recorder.rejected.sum(),
+                        recorder.failed.sum(), recorder.dropped.sum());
+            }
+        });
+        row(out, "all", getResponseTime(), recorders.values().stream().mapToLong(r -> r.ok.sum()).sum(),
+                recorders.values().stream().mapToLong(r -> r.rejected.sum()).sum(), getFailed(), getDropped());
+        out.printf("%-12s %9s %9s %9s %9s %9s %10.2f %10.2f %10.2f %10.2f%n", "service time", "", "", "", "", "",
+                millis(serviceTime, 50), millis(serviceTime, 99), millis(serviceTime, 99.9),
+                serviceTime.getMaxValue() / 1000.0);
+        out.printf("Throughput: %.1f responses/s over %d s%n", (double) getCompleted() / durationSeconds, durationSeconds);
+    }
+
+    private static void row(PrintStream out, String name, Histogram histogram, long ok, long rejected, long failed, long dropped) {
+        out.printf("%-12s %9d %9d %9d %9d %9d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount() + dropped,
+                ok, rejected, failed, dropped, millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /** Counts and timings of one operation; safe to update from several threads. */
+    public class Recorder {
+        private final Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        void succeeded(long responseNanos, long serviceNanos) {
+            record(responseNanos, serviceNanos);
+            ok.increment();
+        }
+
+        /** The server answered with a business error code, such as insufficient balance. */
+        void rejected(long responseNanos, long serviceNanos) {
+            record(responseNanos, serviceNanos);
+            rejected.increment();
+        }
+
+        void failed(long responseNanos, long serviceNanos) {
+            record(responseNanos, serviceNanos);
+            failed.increment();
+        }
+
+        void dropped() {
+            dropped.increment();
+        }
+
+        private void record(long responseNanos, long serviceNanos) {
+            responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(responseNanos));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+        }
+
+        public long getCompleted() {
+            return responseTime.getTotalCount();
+        }
+
+        public long getOk() {
+            return ok.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+    }
+}
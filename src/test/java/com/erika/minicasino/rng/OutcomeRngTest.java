@@ -0,0 +1,66 @@
+package com.erika.minicasino.rng;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutcomeRngTest {
+    @Test
+    void testSeeded_SameTicketSameDrawRegardlessOfOrder() {
+        OutcomeRng first = OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, 42L);
+        OutcomeRng second = OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, 42L);
+        double[] forward = new double[100];
+        for (int ticket = 0; ticket < 100; ticket++) {
+            forward[ticket] = first.nextDouble(ticket);
+        }
+        for (int ticket = 99; ticket >= 0; ticket--) {
+            assertEquals(forward[ticket], second.nextDouble(ticket));
+        }
+        assertNotEquals(forward[1], OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, 43L).nextDouble(1));
+    }
+
+    @Test
+    void testSeeded_DrawsAreUniform() {
+        OutcomeRng rng = OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, 7L);
+        int below = 0;
+        for (int ticket = 1; ticket <= 100_000; ticket++) {
+            double draw = rng.nextDouble(ticket);
+            assertTrue(draw >= 0 && draw < 1);
+            if (draw < 0.3) {
+                below++;
+            }
+        }
+        assertEquals(30_000, below, 1_000);
+    }
+
+    @Test
+    void testThreadLocal_EachThreadHasItsOwnStream() throws Exception {
+        OutcomeRng rng = OutcomeRng.create(OutcomeRng.DEFAULT_ALGORITHM, null);
+        Set<Double> firstDraws = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                firstDraws.add(rng.nextDouble(0));
+                for (int draw = 0; draw < 10_000; draw++) {
+                    double value = rng.nextDouble(draw);
+                    assertTrue(value >= 0 && value < 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(8, firstDraws.size());
+    }
+
+    @Test
+    void testCreate_RejectsNonSplittableAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> OutcomeRng.create("Random", null));
+        assertThrows(IllegalArgumentException.class, () -> OutcomeRng.create("NoSuchAlgorithm", null));
+    }
+}
@@ -1,6 +1,7 @@
 package com.erika.minicasino.service;
 
 import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.CatalogDiff;
 import com.erika.minicasino.model.Game;
 import com.erika.minicasino.service.impl.GameServiceImpl;
 import jakarta.annotation.Resource;
@@ -14,6 +15,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,7 +49,7 @@ public class GameServiceTest {
 
     @Test
     void testAddGame_ShouldAddAndRetrieveGame() {
-        Game newGame = new Game(99L, "New Game", 0.8, 3.0, 50.0, 2.0);
+        Game newGame = new Game(99L, "New Game", 0.8, 3.0, 2.0, 50.0);
         gameService.addGame(newGame);
 
         Game retrieved = gameService.getGameById(99L);
@@ -57,7 +60,7 @@ public class GameServiceTest {
     @Test
     void testAddGame_OverridesExisting() {
         Game original = gameService.getGameById(1L);
-        Game updated = new Game(1L, "Updated Game", 0.9, 4.0, 80.0, 1.0);
+        Game updated = new Game(1L, "Updated Game", 0.9, 4.0, 1.0, 80.0);
 
         gameService.addGame(updated);
         Game result = gameService.getGameById(1L);
@@ -66,6 +69,18 @@ public class GameServiceTest {
         assertEquals(0.9, result.getChanceOfWinning());
     }
 
+    @Test
+    void testAddGame_RejectsInvalidOrNonFiniteNumbers() {
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(null, "No Id", 0.5, 2.0, 1.0, 10.0)));
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(60L, "Odds", 1.5, 2.0, 1.0, 10.0)));
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(60L, "Odds", Double.NaN, 2.0, 1.0, 10.0)));
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(60L, "Payout", 0.5, Double.POSITIVE_INFINITY, 1.0, 10.0)));
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(60L, "Limits", 0.5, 2.0, Double.NaN, 10.0)));
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(60L, "Limits", 0.5, 2.0, 1.0, Double.POSITIVE_INFINITY)));
+        assertThrows(BusinessException.class, () -> gameService.addGame(new Game(60L, "Limits", 0.5, 2.0, 10.0, 1.0)));
+        assertNull(gameService.findGameById(60L));
+    }
+
     @Test
     void testLoadFromXml_ShouldParseAndReturnGames() throws Exception {
         String xmlContent = """
@@ -104,4 +119,128 @@ public class GameServiceTest {
         assertNotNull(game2);
         assertEquals("Roulette", game2.getName());
     }
+
+    @Test
+    void testLoadFromXml_ConcurrentLookupsNeverSeeEmptyCatalog() throws Exception {
+        String xmlContent = """
+            <games>
+                <game>
+                    <id>1</id>
+                    <name>Slot Machine</name>
+                    <chanceOfWinning>0.2</chanceOfWinning>
+                    <winningMultiplier>5.0</winningMultiplier>
+                    <minBet>1.0</minBet>
+                    <maxBet>100.0</maxBet>
+                </game>
+            </games>
+        """;
+        byte[] xml = xmlContent.getBytes(StandardCharsets.UTF_8);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    gameService.getGameById(1L);
+                } catch (BusinessException e) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 200; i++) {
+            gameService.loadFromXml(new ByteArrayInputStream(xml));
+        }
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, misses.get());
+        assertEquals(1, gameService.getAllGames().size());
+        assertThrows(UnsupportedOperationException.class, () -> gameService.getAllGames().clear());
+    }
+
+    @Test
+    void testLoadFromXml_InvalidGameKeepsCurrentCatalog() {
+        String xmlContent = """
+            <games>
+                <game><id>7</id><name>Fine</name><chanceOfWinning>0.5</chanceOfWinning>
+                    <winningMultiplier>2.0</winningMultiplier><minBet>1.0</minBet><maxBet>10.0</maxBet></game>
+                <game><id>8</id><name>Broken</name><chanceOfWinning>1.5</chanceOfWinning>
+                    <winningMultiplier>2.0</winningMultiplier><minBet>1.0</minBet><maxBet>10.0</maxBet></game>
+            </games>
+        """;
+
+        BusinessException error = assertThrows(BusinessException.class,
+                () -> gameService.loadFromXml(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(error.getDescription().contains("#2"));
+        assertEquals(3, gameService.getAllGames().size());
+        assertNull(gameService.findGameById(7L));
+    }
+
+    @Test
+    void testLoadFromXml_MalformedOrWrongRootIsRejected() {
+        assertThrows(BusinessException.class,
+                () -> gameService.loadFromXml(new ByteArrayInputStream("<games><game>".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(BusinessException.class,
+                () -> gameService.loadFromXml(new ByteArrayInputStream("<users/>".getBytes(StandardCharsets.UTF_8))));
+        assertEquals(3, gameService.getAllGames().size());
+    }
+
+    @Test
+    void testLoadFromXml_LargeCatalog() {
+        StringBuilder xml = new StringBuilder("<games>");
+        for (int i = 1; i <= 20_000; i++) {
+            xml.append("<game><id>").append(i).append("</id><name>Game ").append(i)
+                    .append("</name><chanceOfWinning>0.5</chanceOfWinning><winningMultiplier>2.0</winningMultiplier>")
+                    .append("<minBet>1.0</minBet><maxBet>100.0</maxBet></game>");
+        }
+        xml.append("</games>");
+
+        Map<Long, Game> result = gameService.loadFromXml(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(20_000, result.size());
+        assertEquals("Game 12345", gameService.findGameById(12_345L).getName());
+    }
+
+    @Test
+    void testMergeFromXml_AppliesOnlyTheDelta() {
+        String xmlContent = """
+            <games>
+                <game><id>1</id><name>Slot Machine</name><chanceOfWinning>0.2</chanceOfWinning>
+                    <winningMultiplier>5.0</winningMultiplier><minBet>1.0</minBet><maxBet>100.0</maxBet></game>
+                <game><id>2</id><name>Roulette</name><chanceOfWinning>0.45</chanceOfWinning>
+                    <winningMultiplier>2.5</winningMultiplier><minBet>2.0</minBet><maxBet>50.0</maxBet></game>
+                <game><id>9</id><name>Keno</name><chanceOfWinning>0.1</chanceOfWinning>
+                    <winningMultiplier>9.0</winningMultiplier><minBet>1.0</minBet><maxBet>20.0</maxBet></game>
+            </games>
+        """;
+        Game slotMachine = gameService.findGameById(1L);
+
+        CatalogDiff merged = gameService.mergeFromXml(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)), false);
+        assertEquals(List.of(9L), merged.getAdded().stream().map(Game::getId).toList());
+        assertEquals(List.of(2L), merged.getChanged().stream().map(Game::getId).toList());
+        assertTrue(merged.getRemoved().isEmpty());
+        assertEquals(4, gameService.getAllGames().size());
+        assertEquals(0.45, gameService.findGameById(2L).getChanceOfWinning());
+        // Unchanged games keep their instance
+        assertSame(slotMachine, gameService.findGameById(1L));
+
+        CatalogDiff synced = gameService.mergeFromXml(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)), true);
+        assertTrue(synced.getAdded().isEmpty());
+        assertTrue(synced.getChanged().isEmpty());
+        assertEquals(List.of(3L), synced.getRemoved());
+        assertNull(gameService.findGameById(3L));
+        assertEquals(3, gameService.getAllGames().size());
+    }
+
+    @Test
+    void testCatalogVersion_ChangesOnlyWhenCatalogDoes() {
+        long initial = gameService.getCatalogVersion();
+        gameService.addGame(new Game(50L, "Dice", 0.5, 2.0, 1.0, 10.0));
+        long afterAdd = gameService.getCatalogVersion();
+        assertTrue(afterAdd > initial);
+
+        String unchanged = "<games><game><id>50</id><name>Dice</name><chanceOfWinning>0.5</chanceOfWinning>"
+                + "<winningMultiplier>2.0</winningMultiplier><minBet>1.0</minBet><maxBet>10.0</maxBet></game></games>";
+        gameService.mergeFromXml(new ByteArrayInputStream(unchanged.getBytes(StandardCharsets.UTF_8)), false);
+        assertEquals(afterAdd, gameService.getCatalogVersion());
+    }
 }
@@ -0,0 +1,85 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.model.AccountEventType;
+import com.erika.minicasino.model.GameStats;
+import com.erika.minicasino.service.impl.GameServiceImpl;
+import com.erika.minicasino.service.impl.GameStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStatsServiceTest {
+    private GameService gameService;
+    private GameStatsService gameStatsService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameServiceImpl();
+        gameStatsService = new GameStatsServiceImpl(new CasinoProperties(), gameService);
+    }
+
+    private void placed(long gameId, double amount) {
+        gameStatsService.onAccountEvent(new AccountEvent(AccountEventType.BET_PLACED, "erika", 1L, gameId, amount,
+                null, null, 0.0, System.currentTimeMillis()));
+    }
+
+    private void settled(long gameId, double amount, double amountWon) {
+        gameStatsService.onAccountEvent(new AccountEvent(AccountEventType.BET_SETTLED, "erika", 1L, gameId, amount,
+                amountWon, amountWon > 0, 0.0, System.currentTimeMillis()));
+    }
+
+    @Test
+    void testGetStats_BeforeAnyBetHasNoRates() {
+        GameStats stats = gameStatsService.getStats(1L);
+
+        assertEquals(1L, stats.getGameId());
+        assertEquals(0, stats.getBets());
+        assertNull(stats.getRtp());
+        assertNull(stats.getWindowRtp());
+        assertNull(stats.getRtpZScore());
+        assertEquals(3600, stats.getWindowSeconds());
+    }
+
+    @Test
+    void testGetStats_TracksRtpHitRateAndLiability() {
+        double multiplier = gameService.getGameById(1L).getWinningMultiplier();
+        double chance = gameService.getGameById(1L).getChanceOfWinning();
+        for (int i = 0; i < 4; i++) {
+            placed(1L, 10.0);
+        }
+        placed(1L, 25.0);
+        settled(1L, 10.0, 10.0 * multiplier);
+        settled(1L, 10.0, 0.0);
+        settled(1L, 10.0, 0.0);
+        settled(1L, 10.0, 0.0);
+        gameStatsService.onAccountEvent(AccountEvent.deposit("erika", 100.0, 100.0));
+
+        GameStats stats = gameStatsService.getStats(1L);
+
+        assertEquals(chance * multiplier, stats.getExpectedRtp(), 1e-9);
+        assertEquals(4, stats.getBets());
+        assertEquals(1, stats.getWins());
+        assertEquals(40.0, stats.getTotalBet(), 1e-9);
+        assertEquals(0.25, stats.getHitRate(), 1e-9);
+        assertEquals(multiplier / 4, stats.getRtp(), 1e-9);
+        assertEquals(1, stats.getOpenBets());
+        assertEquals(25.0, stats.getOpenStakes(), 1e-9);
+        assertEquals(25.0 * multiplier, stats.getLiability(), 1e-9);
+        assertEquals(4, stats.getWindowBets());
+        assertEquals(stats.getRtp(), stats.getWindowRtp(), 1e-9);
+        assertEquals(stats.getWindowRtp() - stats.getExpectedRtp(), stats.getRtpDeviation(), 1e-9);
+        // Four equal stakes: standard error is multiplier * sqrt(p(1-p) / 4)
+        double standardError = multiplier * Math.sqrt(chance * (1 - chance) / 4);
+        assertEquals(stats.getRtpDeviation() / standardError, stats.getRtpZScore(), 1e-9);
+        assertEquals(0, gameStatsService.getStats(2L).getBets());
+    }
+
+    @Test
+    void testGetStats_UnknownGameThrows() {
+        assertThrows(BusinessException.class, () -> gameStatsService.getStats(999L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.model.AccountEventType;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.LeaderboardEntry;
+import com.erika.minicasino.model.LeaderboardMetric;
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.service.impl.LeaderboardServiceImpl;
+import com.erika.minicasino.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LeaderboardServiceTest {
+    private GameService gameService;
+    private UserServiceImpl userService;
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() {
+        gameService = mock(GameService.class);
+        Game alwaysWins = new Game(1L, "Sure Thing", 1.0, 3.0, 1.0, 1000.0);
+        Game neverWins = new Game(2L, "Long Shot", 0.0, 50.0, 1.0, 1000.0);
+        when(gameService.findGameById(1L)).thenReturn(alwaysWins);
+        when(gameService.findGameById(2L)).thenReturn(neverWins);
+        when(gameService.getGameById(1L)).thenReturn(alwaysWins);
+        when(gameService.getGameById(2L)).thenReturn(neverWins);
+        when(gameService.getGameById(9L)).thenThrow(BusinessException.class);
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBet().setSettlementDelayMs(0);
+        userService = new UserServiceImpl(gameService, properties);
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("userService", userService);
+        for (String username : List.of("ann", "bo", "cy")) {
+            userService.registerUser(new User(username, username, LocalDate.of(1990, 1, 1), 1000.0));
+        }
+    }
+
+    private LeaderboardServiceImpl newLeaderboard() {
+        return new LeaderboardServiceImpl(gameService, beanFactory.getBeanProvider(UserService.class), Runnable::run);
+    }
+
+    private void bet(String username, long gameId, double amount) throws Exception {
+        BetTicket ticket = userService.placeBet(username, gameId, amount);
+        userService.awaitBetTicket(ticket.getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+    }
+
+    private static List<String> names(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getUsername).toList();
+    }
+
+    @Test
+    void testSettlementsUpdateGlobalAndPerGameRankings() throws Exception {
+        LeaderboardServiceImpl leaderboard = newLeaderboard();
+        userService.setAccountEventListeners(List.of(leaderboard));
+
+        bet("ann", 1L, 10.0);
+        bet("bo", 2L, 100.0);
+        bet("cy", 1L, 50.0);
+        bet("cy", 2L, 20.0);
+
+        List<LeaderboardEntry> net = leaderboard.getTop(LeaderboardMetric.NET_WINNINGS, 10);
+        assertEquals(List.of("cy", "ann", "bo"), names(net));
+        assertEquals(80.0, net.get(0).getValue(), 1e-9);
+        assertEquals(3, net.get(2).getRank());
+        assertEquals(-100.0, net.get(2).getValue(), 1e-9);
+        assertEquals(List.of("bo", "cy"), names(leaderboard.getTop(LeaderboardMetric.TOTAL_WAGERED, 2)));
+        assertEquals(150.0, leaderboard.getTop(LeaderboardMetric.BIGGEST_WIN, 1).get(0).getValue(), 1e-9);
+
+        assertEquals(List.of("bo", "cy"), names(leaderboard.getTop(LeaderboardMetric.TOTAL_WAGERED, 2L, 10)));
+        assertEquals(List.of("cy", "ann"), names(leaderboard.getTop(LeaderboardMetric.NET_WINNINGS, 1L, 10)));
+        assertThrows(BusinessException.class, () -> leaderboard.getTop(LeaderboardMetric.NET_WINNINGS, 9L, 10));
+    }
+
+    @Test
+    void testSeedsFromRestoredPlayerTotals() throws Exception {
+        bet("ann", 1L, 10.0);
+        bet("bo", 2L, 100.0);
+
+        LeaderboardServiceImpl leaderboard = newLeaderboard();
+        leaderboard.afterSingletonsInstantiated();
+
+        List<LeaderboardEntry> net = leaderboard.getTop(LeaderboardMetric.NET_WINNINGS, 10);
+        assertEquals(List.of("ann", "bo"), names(net));
+        assertEquals(20.0, net.get(0).getValue(), 1e-9);
+        assertEquals(List.of("bo"), names(leaderboard.getTop(LeaderboardMetric.TOTAL_WAGERED, 2L, 10)));
+        assertEquals(List.of("ann"), names(leaderboard.getTop(LeaderboardMetric.NET_WINNINGS, 1L, 10)));
+    }
+
+    @Test
+    void testPendingSettlementsMergePerPlayerAndGame() {
+        List<Runnable> queued = new ArrayList<>();
+        LeaderboardServiceImpl leaderboard = new LeaderboardServiceImpl(gameService,
+                beanFactory.getBeanProvider(UserService.class), queued::add);
+
+        for (int i = 1; i <= 1000; i++) {
+            leaderboard.onAccountEvent(new AccountEvent(AccountEventType.BET_SETTLED, "ann", (long) i, 1L, 10.0,
+                    i == 500 ? 100.0 : 0.0, i == 500, 0, 0));
+        }
+        leaderboard.onAccountEvent(new AccountEvent(AccountEventType.BET_SETTLED, "ann", 1001L, 2L, 5.0, 0.0, false, 0, 0));
+        leaderboard.onAccountEvent(new AccountEvent(AccountEventType.BET_SETTLED, "bo", 1002L, 1L, 5.0, 0.0, false, 0, 0));
+        assertEquals(3, queued.size());
+        assertTrue(leaderboard.getTop(LeaderboardMetric.TOTAL_WAGERED, 10).isEmpty());
+
+        queued.forEach(Runnable::run);
+        List<LeaderboardEntry> wagered = leaderboard.getTop(LeaderboardMetric.TOTAL_WAGERED, 10);
+        assertEquals(List.of("ann", "bo"), names(wagered));
+        assertEquals(10_005.0, wagered.get(0).getValue(), 1e-9);
+        assertEquals(100.0, leaderboard.getTop(LeaderboardMetric.BIGGEST_WIN, 1).get(0).getValue(), 1e-9);
+        assertEquals(10_000.0, leaderboard.getTop(LeaderboardMetric.TOTAL_WAGERED, 1L, 1).get(0).getValue(), 1e-9);
+
+        // Once applied, the next settlement for the pair queues a new task
+        leaderboard.onAccountEvent(new AccountEvent(AccountEventType.BET_SETTLED, "bo", 1003L, 1L, 5.0, 0.0, false, 0, 0));
+        assertEquals(4, queued.size());
+    }
+}
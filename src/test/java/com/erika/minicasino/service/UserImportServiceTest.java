@@ -0,0 +1,211 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.DepositRequest;
+import com.erika.minicasino.model.ImportFailedRange;
+import com.erika.minicasino.model.ImportFormat;
+import com.erika.minicasino.model.ImportReport;
+import com.erika.minicasino.model.ImportRowError;
+import com.erika.minicasino.service.impl.UserImportServiceImpl;
+import com.erika.minicasino.service.impl.UserServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserImportServiceTest {
+    private UserService userService;
+    private UserImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBulkImport().setBatchSize(7);
+        properties.getBulkImport().setThreads(3);
+        properties.getBulkImport().setMaxReportedErrors(5);
+        userService = new UserServiceImpl(mock(GameService.class), properties);
+        importService = new UserImportServiceImpl(userService, new ObjectMapper().findAndRegisterModules(), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    private static InputStream rows(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportUsers_CsvWithHeaderAndErrors() throws Exception {
+        StringBuilder csv = new StringBuilder("name,username,birthdate,balance\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("\"Player, ").append(i).append("\",p").append(i).append(",1990-01-01,10.5\n");
+        }
+        csv.append("Kid,kid1,").append(java.time.LocalDate.now().minusYears(10)).append('\n');
+        csv.append("Dup,p3,1990-01-01\n");
+        csv.append("\n");
+        csv.append("Broken,b1,not-a-date\n");
+
+        ImportReport report = importService.importUsers(rows(csv.toString()), ImportFormat.CSV);
+
+        assertEquals(53, report.getRows());
+        assertEquals(50, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertFalse(report.isErrorsTruncated());
+        assertEquals(52, report.getErrors().get(0).getRow());
+        assertEquals(ErrorCode.NO_AUTH.getCode(), report.getErrors().get(0).getCode());
+        assertEquals(53, report.getErrors().get(1).getRow());
+        assertEquals(ErrorCode.DUPLICATE_DATA.getCode(), report.getErrors().get(1).getCode());
+        assertEquals(55, report.getErrors().get(2).getRow());
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), report.getErrors().get(2).getCode());
+        assertEquals(50, userService.getUserCount());
+        assertEquals("Player, 7", userService.getUser("p7").getName());
+        assertEquals(10.5, userService.getBalance("p7"));
+    }
+
+    @Test
+    void testImportUsersAndDeposits_Ndjson() throws Exception {
+        ImportReport users = importService.importUsers(rows("""
+                {"name":"Bo","username":"bo123","birthdate":"2000-01-01","balance":100.0}
+                {"name":"Al","username":"al456","birthdate":"1990-06-01"}
+                {"name":"Al","username":
+                """), ImportFormat.NDJSON);
+        assertEquals(2, users.getImported());
+        assertEquals(3, users.getErrors().get(0).getRow());
+
+        ImportReport deposits = importService.importDeposits(rows("""
+                {"username":"bo123","amount":25.0}
+                {"username":"al456","amount":5.5}
+                {"username":"ghost","amount":5.0}
+                {"username":"al456","amount":-1}
+                """), ImportFormat.NDJSON);
+        assertEquals(4, deposits.getRows());
+        assertEquals(2, deposits.getImported());
+        assertEquals(125.0, userService.getBalance("bo123"));
+        assertEquals(5.5, userService.getBalance("al456"));
+    }
+
+    @Test
+    void testImportDeposits_ErrorReportIsCapped() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            csv.append("nobody").append(i).append(",5\n");
+        }
+
+        ImportReport report = importService.importDeposits(rows(csv.toString()), ImportFormat.CSV);
+        assertEquals(20, report.getFailed());
+        assertEquals(5, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        assertEquals(1, report.getErrors().get(0).getRow());
+    }
+
+    @Test
+    void testImportDeposits_FailedWriteRejectsOnlyItsRowAndStops() throws Exception {
+        UserService failing = mock(UserService.class);
+        when(failing.deposit(anyList())).thenAnswer(invocation -> {
+            List<DepositRequest> batch = invocation.getArgument(0);
+            List<ImportRowError> errors = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).getUsername().equals("boom")) {
+                    errors.add(new ImportRowError(i, ErrorCode.SYSTEM_ERROR.getCode(), "Failed to persist the operation"));
+                }
+            }
+            return errors;
+        });
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBulkImport().setBatchSize(7);
+        properties.getBulkImport().setThreads(3);
+        UserImportServiceImpl partialImport = new UserImportServiceImpl(failing, new ObjectMapper(), properties);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            csv.append(i == 9 ? "boom" : "p" + i).append(",5\n");
+        }
+
+        try {
+            ImportReport report = partialImport.importDeposits(rows(csv.toString()), ImportFormat.CSV);
+
+            assertTrue(report.isAborted());
+            assertEquals(14, report.getRows());
+            assertEquals(13, report.getImported());
+            assertEquals(1, report.getFailed());
+            assertTrue(report.getFailedRanges().isEmpty());
+            assertEquals(9, report.getErrors().get(0).getRow());
+            assertEquals(ErrorCode.SYSTEM_ERROR.getCode(), report.getErrors().get(0).getCode());
+        } finally {
+            partialImport.shutdown();
+        }
+    }
+
+    @Test
+    void testImportUsers_OverlongRowIsMalformed() throws Exception {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBulkImport().setMaxLineLength(64);
+        UserImportServiceImpl boundedImport = new UserImportServiceImpl(userService, new ObjectMapper(), properties);
+        String csv = "Al,al456,1990-06-01\r\n" + "x".repeat(10_000) + "\r\nBo,bo123,2000-01-01\r\n";
+
+        try {
+            ImportReport report = boundedImport.importUsers(rows(csv), ImportFormat.CSV);
+
+            assertEquals(3, report.getRows());
+            assertEquals(2, report.getImported());
+            assertEquals(2, report.getErrors().get(0).getRow());
+            assertTrue(report.getErrors().get(0).getDescription().contains("longer than 64 characters"));
+            assertEquals("Bo", userService.getUser("bo123").getName());
+        } finally {
+            boundedImport.shutdown();
+        }
+    }
+
+    @Test
+    void testImportDeposits_FailedInsertStopsWithPartialReport() throws Exception {
+        UserService failing = mock(UserService.class);
+        when(failing.deposit(anyList())).thenAnswer(invocation -> {
+            List<DepositRequest> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(deposit -> deposit.getUsername().equals("boom"))) {
+                throw new CompletionException(new IOException("Disk full"));
+            }
+            return List.of();
+        });
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBulkImport().setBatchSize(7);
+        properties.getBulkImport().setThreads(3);
+        UserImportServiceImpl partialImport = new UserImportServiceImpl(failing, new ObjectMapper(), properties);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 1; i <= 20; i++) {
+            csv.append(i == 9 ? "boom" : "p" + i).append(",5\n");
+        }
+
+        try {
+            ImportReport report = partialImport.importDeposits(rows(csv.toString()), ImportFormat.CSV);
+
+            assertTrue(report.isAborted());
+            assertEquals(14, report.getRows());
+            assertEquals(11, report.getImported());
+            assertEquals(3, report.getFailed());
+            assertFalse(report.isErrorsTruncated());
+            assertEquals(1, report.getFailedRanges().size());
+            ImportFailedRange range = report.getFailedRanges().get(0);
+            assertEquals(8, range.getFromRow());
+            assertEquals(10, range.getToRow());
+            assertEquals(3, range.getRows());
+            assertEquals("Disk full", range.getDescription());
+        } finally {
+            partialImport.shutdown();
+        }
+    }
+}
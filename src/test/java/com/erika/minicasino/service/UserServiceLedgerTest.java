@@ -0,0 +1,178 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.BetSummery;
+import com.erika.minicasino.model.BetTicket;
+import com.erika.minicasino.model.DepositRequest;
+import com.erika.minicasino.model.Game;
+import com.erika.minicasino.model.ImportRowError;
+import com.erika.minicasino.model.User;
+import com.erika.minicasino.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserServiceLedgerTest {
+    @TempDir
+    Path directory;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = mock(GameService.class);
+        when(gameService.findGameById(4L)).thenReturn(new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0));
+    }
+
+    private UserServiceImpl startService(long settlementDelayMs) throws Exception {
+        return startService(settlementDelayMs, 0);
+    }
+
+    private UserServiceImpl startService(long settlementDelayMs, long snapshotIntervalMs) throws Exception {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getLedger().setSnapshotIntervalMs(snapshotIntervalMs);
+        properties.getBet().setSettlementDelayMs(settlementDelayMs);
+        properties.getLedger().setEnabled(true);
+        properties.getLedger().setDirectory(directory.toString());
+        UserServiceImpl service = new UserServiceImpl(gameService, properties);
+        service.start();
+        return service;
+    }
+
+    @Test
+    void testRestart_RebuildsUsersWalletsAndBets() throws Exception {
+        UserServiceImpl first = startService(0);
+        first.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+        first.registerUser(new User("Al", "al456", LocalDate.of(1990, 6, 1)));
+        first.deposit("al456", 25.5);
+        BetTicket ticket = first.placeBet("bo123", 4L, 10.0);
+        first.awaitBetTicket(ticket.getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+        first.shutdown();
+
+        UserServiceImpl second = startService(0);
+        assertEquals(2, second.getUserCount());
+        assertEquals("Bo", second.getUser("bo123").getName());
+        assertEquals(110.0, second.getBalance("bo123"));
+        assertEquals(25.5, second.getBalance("al456"));
+        BetSummery summary = second.getBetSummary("bo123");
+        assertEquals(1, summary.getNumberOfBets());
+        assertEquals(20.0, summary.getTotalWon());
+        assertEquals(1, second.getBetHistory("bo123", 0, 10).size());
+
+        // Ticket IDs keep counting from where the previous process stopped
+        BetTicket next = second.placeBet("bo123", 4L, 10.0);
+        assertTrue(next.getTicketId() > ticket.getTicketId());
+        second.shutdown();
+    }
+
+    @Test
+    void testDurableBets_FinishOffTheLedgerWriter() throws Exception {
+        UserServiceImpl service = startService(0);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        service.setAccountEventListeners(List.of(event -> threads.add(Thread.currentThread().getName())));
+        service.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+
+        BetTicket ticket = service.placeBet("bo123", 4L, 10.0);
+        service.awaitBetTicket(ticket.getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+        service.shutdown();
+
+        assertEquals(2, threads.size());
+        // A write already durable when the bet checks it is finished inline by the caller instead
+        threads.forEach(thread -> assertNotEquals("ledger-writer", thread));
+    }
+
+    @Test
+    void testFailedWrite_KeepsTheCause() throws Exception {
+        UserServiceImpl service = startService(0);
+        service.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+        service.shutdown();
+
+        BusinessException e = assertThrows(BusinessException.class, () -> service.deposit("bo123", 5.0));
+        assertEquals(ErrorCode.SYSTEM_ERROR.getCode(), e.getCode());
+        assertFalse(e.isRejection());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(100.0, service.getBalance("bo123"), "a deposit that was not persisted is not credited");
+
+        assertThrows(BusinessException.class, () -> service.registerUser(new User("Al", "al456", LocalDate.of(1990, 6, 1))));
+        assertEquals(1, service.getUserCount());
+        assertThrows(BusinessException.class, () -> service.getUser("al456"));
+    }
+
+    @Test
+    void testFailedBulkWrite_RejectsTheRows() throws Exception {
+        UserServiceImpl service = startService(0);
+        service.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+        service.shutdown();
+
+        List<ImportRowError> errors = service.deposit(List.of(new DepositRequest("bo123", 5.0), new DepositRequest("ghost", 5.0)));
+        assertEquals(2, errors.size());
+        assertEquals(0, errors.get(0).getRow());
+        assertEquals(ErrorCode.SYSTEM_ERROR.getCode(), errors.get(0).getCode());
+        assertEquals(ErrorCode.NO_AUTH.getCode(), errors.get(1).getCode());
+        assertEquals(100.0, service.getBalance("bo123"));
+
+        errors = service.registerUsers(List.of(new User("Al", "al456", LocalDate.of(1990, 6, 1))));
+        assertEquals(ErrorCode.SYSTEM_ERROR.getCode(), errors.get(0).getCode());
+        assertEquals(1, service.getUserCount());
+    }
+
+    @Test
+    void testRestart_RefundsPendingBets() throws Exception {
+        UserServiceImpl first = startService(60_000);
+        first.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+        first.placeBet("bo123", 4L, 30.0);
+        assertEquals(70.0, first.getBalance("bo123"));
+        first.shutdown();
+
+        UserServiceImpl second = startService(0);
+        assertEquals(100.0, second.getBalance("bo123"));
+        second.shutdown();
+
+        // The refund itself is in the ledger, so it is not applied twice
+        UserServiceImpl third = startService(0);
+        assertEquals(100.0, third.getBalance("bo123"));
+        third.shutdown();
+    }
+
+    @Test
+    void testRestart_FromSnapshotAndLedgerTail() throws Exception {
+        UserServiceImpl first = startService(0, 20);
+        first.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+        BetTicket ticket = first.placeBet("bo123", 4L, 10.0);
+        first.awaitBetTicket(ticket.getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!hasSnapshot() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(hasSnapshot());
+        first.deposit("bo123", 5.0);
+        first.shutdown();
+
+        UserServiceImpl second = startService(0);
+        assertEquals(115.0, second.getBalance("bo123"));
+        assertEquals(1, second.getBetSummary("bo123").getNumberOfBets());
+        assertEquals(1, second.getBetHistory("bo123", 0, 10).size());
+        assertTrue(second.placeBet("bo123", 4L, 10.0).getTicketId() > ticket.getTicketId());
+        second.shutdown();
+    }
+
+    private boolean hasSnapshot() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(".bin"));
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.erika.minicasino.service;
 
+import com.erika.minicasino.common.ErrorCode;
+import com.erika.minicasino.common.ServiceResult;
+import com.erika.minicasino.config.CasinoProperties;
 import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.model.AccountEvent;
+import com.erika.minicasino.model.AccountEventType;
 import com.erika.minicasino.model.BetRecord;
+import com.erika.minicasino.model.BetRequest;
+import com.erika.minicasino.model.BetResult;
+import com.erika.minicasino.model.BetStatus;
+import com.erika.minicasino.model.BetSummaryWindow;
+import com.erika.minicasino.model.BetSummery;
+import com.erika.minicasino.model.BetTicket;
 import com.erika.minicasino.model.Game;
 import com.erika.minicasino.model.User;
 import com.erika.minicasino.service.GameService;
 import com.erika.minicasino.service.UserService;
 import com.erika.minicasino.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.annotation.Resource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -26,7 +41,17 @@ public class UserServiceTest {
     @BeforeEach
     void setUp() {
         gameService = mock(GameService.class);
-        userService = new UserServiceImpl(gameService);
+        userService = new UserServiceImpl(gameService, propertiesWithDelay(0));
+    }
+
+    private static CasinoProperties propertiesWithDelay(long settlementDelayMs) {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getBet().setSettlementDelayMs(settlementDelayMs);
+        return properties;
+    }
+
+    private BetRecord awaitResult(BetTicket ticket) throws Exception {
+        return userService.awaitBetTicket(ticket.getTicketId(), 5000).get(5, TimeUnit.SECONDS).getResult();
     }
 
     @Test
@@ -35,7 +60,7 @@ public class UserServiceTest {
         User result = userService.registerUser(user);
 
         assertEquals("bo123", result.getUsername());
-        assertEquals(1, userService.getAllUsers().size());
+        assertEquals(1, userService.getUserCount());
     }
 
     @Test
@@ -46,6 +71,13 @@ public class UserServiceTest {
         assertThrows(BusinessException.class, () -> userService.registerUser(user));
     }
 
+    @Test
+    void testRegister_NameTooLong() {
+        User user = new User("B".repeat(70_000), "bo123", LocalDate.of(2000, 1, 1));
+        assertThrows(BusinessException.class, () -> userService.registerUser(user));
+        assertEquals(0, userService.getUserCount());
+    }
+
     @Test
     void testRegister_UserTooYoung() {
         User underageUser = new User("Young", "kiddo", LocalDate.now().minusYears(17));
@@ -58,7 +90,7 @@ public class UserServiceTest {
         userService.registerUser(user);
         userService.deposit("bo123", 100.0);
 
-        assertEquals(100.0, userService.getUser("bo123").getBalance());
+        assertEquals(100.0, userService.getBalance("bo123"));
     }
 
     @Test
@@ -70,46 +102,100 @@ public class UserServiceTest {
     }
 
     @Test
-    void testPlaceBet_WinScenario() {
+    void testDeposit_RejectsHugeAndNonFiniteAmounts() {
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1)));
+
+        assertThrows(BusinessException.class, () -> userService.deposit("bo123", 1e17));
+        assertThrows(BusinessException.class, () -> userService.deposit("bo123", Double.NaN));
+        assertThrows(BusinessException.class, () -> userService.deposit("bo123", Double.POSITIVE_INFINITY));
+        assertEquals(0.0, userService.getBalance("bo123"));
+    }
+
+    @Test
+    void testPlaceBet_WinScenario() throws Exception {
         // Arrange: Create a game with 100% win chance
         Game testGame = new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0);
-        when(gameService.getGameById(4L)).thenReturn(testGame);
+        when(gameService.findGameById(4L)).thenReturn(testGame);
 
         // Register a user with 100 balance
         User user = new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0);
         userService.registerUser(user);
 
         // Act: Place a 10 EUR bet
-        BetRecord result = userService.placeBet("bo123", 4L, 10.0);
+        BetTicket ticket = userService.placeBet("bo123", 4L, 10.0);
+        BetRecord result = awaitResult(ticket);
 
         // Assert
         assertTrue(result.isWin());
         assertEquals(20.0, result.getAmountWon());
-        assertEquals(110.0, user.getBalance()); // balance + winnings
-        assertEquals(1, user.getBetHistory().size());
-        BetRecord savedBet = user.getBetHistory().get(0);
+        assertEquals(110.0, userService.getBalance("bo123")); // balance + winnings
+        assertEquals(1, userService.getBetHistory("bo123", 0, 10).size());
+        BetRecord savedBet = userService.getBetHistory("bo123", 0, 10).get(0);
         assertEquals(10.0, savedBet.getAmountBet());
         assertEquals(20.0, savedBet.getAmountWon());
         assertTrue(savedBet.isWin());
     }
 
     @Test
-    void testPlaceBet_LoseScenario() {
+    void testListenersSeeDepositPlacementAndSettlement() throws Exception {
+        List<AccountEvent> events = new CopyOnWriteArrayList<>();
+        ((UserServiceImpl) userService).setAccountEventListeners(List.of(events::add));
+        when(gameService.findGameById(4L)).thenReturn(new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0));
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+
+        userService.deposit("bo123", 50.0);
+        BetTicket ticket = userService.placeBet("bo123", 4L, 10.0);
+        awaitResult(ticket);
+
+        assertEquals(List.of(AccountEventType.DEPOSIT, AccountEventType.BET_PLACED, AccountEventType.BET_SETTLED),
+                events.stream().map(AccountEvent::getType).toList());
+        assertEquals(150.0, events.get(0).getBalance());
+        assertEquals(140.0, events.get(1).getBalance());
+        assertEquals(ticket.getTicketId(), events.get(2).getTicketId());
+        assertEquals(20.0, events.get(2).getAmountWon());
+        assertEquals(160.0, events.get(2).getBalance());
+    }
+
+    @Test
+    void testMetricsTrackStagesRejectionsAndBetsInFlight() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userService = new UserServiceImpl(gameService, propertiesWithDelay(60_000));
+        ((UserServiceImpl) userService).setMeterRegistry(registry);
+        when(gameService.findGameById(4L)).thenReturn(new Game(4L, "Lucky Spin", 0.5, 3.0, 5.0, 100.0));
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+
+        userService.placeBet("bo123", 4L, 10.0);
+        userService.tryPlaceBet("bo123", 4L, 1000.0);
+        userService.tryPlaceBet("nobody", 4L, 10.0);
+
+        assertEquals(1, registry.get("minicasino.bet.accepted").counter().count());
+        assertEquals(1, registry.get("minicasino.bet.rejections").tag("code", "40000").counter().count());
+        assertEquals(1, registry.get("minicasino.bet.rejections").tag("code", "40101").counter().count());
+        assertEquals(1, registry.get("minicasino.bet.stage").tag("stage", "reservation").timer().count());
+        assertEquals(10.0, registry.get("minicasino.bet.amount").tag("game", "4").summary().totalAmount());
+        assertEquals(1, registry.get("minicasino.bets.in.flight").gauge().value());
+        assertEquals(30.0, registry.get("minicasino.house.exposure").gauge().value());
+        assertEquals(1, registry.get("minicasino.users.registered").gauge().value());
+    }
+
+    @Test
+    void testPlaceBet_LoseScenario() throws Exception {
         // Arrange: Create a game with 0% win chance
         Game testGame = new Game(4L, "Lucky Spin", 0.0, 2.0, 5.0, 100.0);
-        when(gameService.getGameById(4L)).thenReturn(testGame);
+        when(gameService.findGameById(4L)).thenReturn(testGame);
 
         // Register a user with 100 balance
         User user = new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0);
         userService.registerUser(user);
 
         // Act: Place a 10 EUR bet
-        BetRecord result = userService.placeBet("bo123", 4L, 10.0);
+        BetTicket ticket = userService.placeBet("bo123", 4L, 10.0);
+        BetRecord result = awaitResult(ticket);
 
         // Assert
         assertFalse(result.isWin());
         assertEquals(0.0, result.getAmountWon());
-        assertEquals(90.0, user.getBalance());
+        assertEquals(90.0, userService.getBalance("bo123"));
     }
 
     @Test
@@ -117,10 +203,112 @@ public class UserServiceTest {
         User user = new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100);
         userService.registerUser(user);
         Game game = new Game(4L, "Game", 1.0, 2.0, 1, 100);
-        when(gameService.getGameById(4L)).thenReturn(game);
+        when(gameService.findGameById(4L)).thenReturn(game);
 
         assertThrows(BusinessException.class,
                 () -> userService.placeBet("bo123", 1L, 0));
     }
 
+    @Test
+    void testTryPlaceBet_ReportsRejectionWithoutThrowing() {
+        Game testGame = new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0);
+        when(gameService.findGameById(4L)).thenReturn(testGame);
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 0));
+
+        ServiceResult<BetTicket> broke = userService.tryPlaceBet("bo123", 4L, 10.0);
+        assertFalse(broke.isOk());
+        assertEquals(ErrorCode.SYSTEM_ERROR, broke.getErrorCode());
+        assertEquals("Insufficient balance", broke.getDescription());
+        assertEquals(ErrorCode.NO_AUTH, userService.tryPlaceBet("nobody", 4L, 10.0).getErrorCode());
+
+        BusinessException thrown = assertThrows(BusinessException.class, broke::orElseThrow);
+        assertEquals("Insufficient balance", thrown.getDescription());
+        assertEquals(0, thrown.getStackTrace().length);
+    }
+
+    @Test
+    void testPlaceBet_ReservesStakeBeforeSettlement() throws Exception {
+        userService = new UserServiceImpl(gameService, propertiesWithDelay(200));
+        Game testGame = new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0);
+        when(gameService.findGameById(4L)).thenReturn(testGame);
+        User user = new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0);
+        userService.registerUser(user);
+
+        BetTicket ticket = userService.placeBet("bo123", 4L, 10.0);
+
+        assertEquals(BetStatus.PENDING, ticket.getStatus());
+        assertEquals(90.0, userService.getBalance("bo123"));
+        assertSame(ticket, userService.getBetTicket(ticket.getTicketId()));
+
+        BetTicket settled = userService.awaitBetTicket(ticket.getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+        assertEquals(BetStatus.SETTLED, settled.getStatus());
+        assertEquals(110.0, userService.getBalance("bo123"));
+    }
+
+    @Test
+    void testAwaitBetTicket_TimesOutWithPendingTicket() throws Exception {
+        userService = new UserServiceImpl(gameService, propertiesWithDelay(10000));
+        when(gameService.findGameById(4L)).thenReturn(new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0));
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+
+        BetTicket ticket = userService.placeBet("bo123", 4L, 10.0);
+        BetTicket polled = userService.awaitBetTicket(ticket.getTicketId(), 50).get(5, TimeUnit.SECONDS);
+
+        assertEquals(BetStatus.PENDING, polled.getStatus());
+        assertNull(polled.getResult());
+    }
+
+    @Test
+    void testGetBetTicket_Unknown() {
+        assertThrows(BusinessException.class, () -> userService.getBetTicket(12345L));
+    }
+
+    @Test
+    void testGetBetSummary_TracksSettledBets() throws Exception {
+        when(gameService.findGameById(4L)).thenReturn(new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0));
+        when(gameService.findGameById(5L)).thenReturn(new Game(5L, "Unlucky Spin", 0.0, 2.0, 5.0, 100.0));
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+
+        awaitResult(userService.placeBet("bo123", 4L, 10.0));
+        awaitResult(userService.placeBet("bo123", 5L, 20.0));
+
+        BetSummery summary = userService.getBetSummary("bo123");
+        assertEquals(2, summary.getNumberOfBets());
+        assertEquals(30.0, summary.getTotalBet());
+        assertEquals(20.0, summary.getTotalWon());
+        assertEquals(2, userService.getBetSummary("bo123", BetSummaryWindow.HOUR).getNumberOfBets());
+        assertEquals(20.0, userService.getBetSummaryByGame("bo123").get(5L).getTotalBet());
+    }
+
+
+    @Test
+    void testPlaceBets_MixedBatchAcrossUsers() throws Exception {
+        userService.registerUser(new User("Bo", "bo123", LocalDate.of(2000, 1, 1), 100.0));
+        userService.registerUser(new User("Al", "al456", LocalDate.of(1990, 6, 1), 10.0));
+        when(gameService.findGameById(4L)).thenReturn(new Game(4L, "Lucky Spin", 1.0, 2.0, 5.0, 100.0));
+
+        List<BetResult> results = userService.placeBets(List.of(
+                new BetRequest("bo123", 4L, 10.0),
+                new BetRequest("al456", 4L, 10.0),
+                new BetRequest("al456", 4L, 10.0),
+                new BetRequest("ghost", 4L, 10.0),
+                new BetRequest("bo123", 9L, 10.0),
+                new BetRequest("bo123", 4L, 1.0)));
+
+        assertEquals(6, results.size());
+        assertEquals(ErrorCode.SUCCESS.getCode(), results.get(0).getCode());
+        assertEquals(ErrorCode.SUCCESS.getCode(), results.get(1).getCode());
+        assertEquals(ErrorCode.SYSTEM_ERROR.getCode(), results.get(2).getCode());
+        assertEquals(ErrorCode.NO_AUTH.getCode(), results.get(3).getCode());
+        assertEquals(ErrorCode.NULL_ERROR.getCode(), results.get(4).getCode());
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), results.get(5).getCode());
+        assertNull(results.get(2).getTicketId());
+
+        BetTicket bo = userService.awaitBetTicket(results.get(0).getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+        BetTicket al = userService.awaitBetTicket(results.get(1).getTicketId(), 5000).get(5, TimeUnit.SECONDS);
+        assertEquals(BetStatus.SETTLED, bo.getStatus());
+        assertEquals(BetStatus.SETTLED, al.getStatus());
+        assertEquals(110.0, userService.getBalance("bo123"));
+        assertEquals(20.0, userService.getBalance("al456"));
+    }
 }
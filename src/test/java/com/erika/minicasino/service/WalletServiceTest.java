@@ -0,0 +1,129 @@
+package com.erika.minicasino.service;
+
+import com.erika.minicasino.exception.BusinessException;
+import com.erika.minicasino.service.impl.WalletServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WalletServiceTest {
+    private WalletService walletService;
+
+    @BeforeEach
+    void setUp() {
+        walletService = new WalletServiceImpl();
+    }
+
+    @Test
+    void testReserveCommitRelease() {
+        walletService.openAccount("bo123", 10_000);
+
+        assertTrue(walletService.reserve("bo123", 3_000));
+        assertEquals(7_000, walletService.getBalance("bo123"));
+        assertEquals(3_000, walletService.getReserved("bo123"));
+
+        walletService.commit("bo123", 1_000);
+        walletService.release("bo123", 2_000);
+        walletService.credit("bo123", 500);
+
+        assertEquals(9_500, walletService.getBalance("bo123"));
+        assertEquals(0, walletService.getReserved("bo123"));
+    }
+
+    @Test
+    void testCredit_RejectsOverflow() {
+        walletService.openAccount("bo123", Long.MAX_VALUE - 10);
+
+        assertThrows(BusinessException.class, () -> walletService.credit("bo123", 11));
+        assertEquals(Long.MAX_VALUE - 10, walletService.getBalance("bo123"));
+        walletService.credit("bo123", 10);
+        assertEquals(Long.MAX_VALUE, walletService.getBalance("bo123"));
+    }
+
+    @Test
+    void testReserve_InsufficientFunds() {
+        walletService.openAccount("bo123", 1_000);
+
+        assertFalse(walletService.reserve("bo123", 1_001));
+        assertEquals(1_000, walletService.getBalance("bo123"));
+        assertEquals(0, walletService.getReserved("bo123"));
+    }
+
+    @Test
+    void testCommit_MoreThanReserved() {
+        walletService.openAccount("bo123", 1_000);
+        walletService.reserve("bo123", 100);
+
+        assertThrows(BusinessException.class, () -> walletService.commit("bo123", 200));
+    }
+
+    @Test
+    void testOpenAccount_Duplicate() {
+        assertTrue(walletService.openAccount("bo123", 0));
+        assertFalse(walletService.openAccount("bo123", 0));
+    }
+
+    @Test
+    void testConcurrentBets_BooksBalance() throws Exception {
+        int accounts = 8;
+        long openingBalance = 1_000_000;
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        int operationsPerThread = 50_000;
+        for (int i = 0; i < accounts; i++) {
+            walletService.openAccount("user" + i, openingBalance);
+        }
+
+        LongAdder credited = new LongAdder();
+        LongAdder committed = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    String username = "user" + random.nextInt(accounts);
+                    long stake = 1 + random.nextInt(500);
+                    if (random.nextInt(10) == 0) {
+                        walletService.credit(username, stake);
+                        credited.add(stake);
+                    } else if (walletService.reserve(username, stake)) {
+                        assertTrue(walletService.getBalance(username) >= 0);
+                        if (random.nextBoolean()) {
+                            walletService.commit(username, stake);
+                            committed.add(stake);
+                        } else {
+                            walletService.release(username, stake);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long total = 0;
+        for (int i = 0; i < accounts; i++) {
+            assertEquals(0, walletService.getReserved("user" + i));
+            assertTrue(walletService.getBalance("user" + i) >= 0);
+            total += walletService.getBalance("user" + i);
+        }
+        assertEquals(accounts * openingBalance + credited.sum() - committed.sum(), total);
+    }
+}
@@ -0,0 +1,143 @@
+package com.erika.minicasino.service.impl;
+
+import com.erika.minicasino.config.CasinoProperties;
+import com.erika.minicasino.model.AccountEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountEventServiceImplTest {
+    /** Runs drains only when the test says so, standing in for a sender stuck on a slow client. */
+    private final ArrayDeque<Runnable> pendingSends = new ArrayDeque<>();
+    private AccountEventServiceImpl hub;
+
+    @BeforeEach
+    void setUp() {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getEvents().setBufferSize(3);
+        hub = new AccountEventServiceImpl(properties, pendingSends::add);
+    }
+
+    private void runSends() {
+        Runnable send;
+        while ((send = pendingSends.poll()) != null) {
+            send.run();
+        }
+    }
+
+    @Test
+    void testEventsReachOnlyTheirUsersSubscribers() {
+        RecordingEmitter bo = new RecordingEmitter();
+        RecordingEmitter erika = new RecordingEmitter();
+        hub.register("bo123", bo);
+        hub.register("erika123", erika);
+
+        hub.onAccountEvent(AccountEvent.deposit("bo123", 10.0, 110.0));
+        hub.onAccountEvent(AccountEvent.deposit("nobody", 10.0, 10.0));
+        runSends();
+
+        assertEquals(1, bo.frames.size());
+        assertTrue(bo.frames.get(0).contains("event:DEPOSIT"));
+        assertTrue(bo.frames.get(0).contains("\"balance\":110.0"));
+        assertTrue(erika.frames.isEmpty());
+    }
+
+    @Test
+    void testSlowSubscriberKeepsNewestEventsAndIsToldAboutTheGap() {
+        RecordingEmitter slow = new RecordingEmitter();
+        hub.register("bo123", slow);
+
+        for (int i = 1; i <= 5; i++) {
+            hub.onAccountEvent(AccountEvent.deposit("bo123", i, 100.0 + i));
+        }
+        assertEquals(1, pendingSends.size(), "one drain is queued however many events arrive");
+        runSends();
+
+        assertEquals(4, slow.frames.size());
+        assertTrue(slow.frames.get(0).contains("event:gap"));
+        assertTrue(slow.frames.get(0).contains("\"dropped\":2"));
+        assertTrue(slow.frames.get(1).contains("\"balance\":103.0"));
+        assertTrue(slow.frames.get(3).contains("\"balance\":105.0"));
+    }
+
+    @Test
+    void testFailedSubscriberIsRemoved() {
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.fail = true;
+        hub.register("bo123", gone);
+        assertEquals(1, hub.getSubscriberCount());
+
+        hub.onAccountEvent(AccountEvent.deposit("bo123", 10.0, 110.0));
+        runSends();
+
+        assertEquals(0, hub.getSubscriberCount());
+        hub.onAccountEvent(AccountEvent.deposit("bo123", 10.0, 120.0));
+        assertTrue(pendingSends.isEmpty());
+    }
+
+    @Test
+    void testSubscribingPastTheCapClosesTheOldestStream() {
+        CasinoProperties properties = new CasinoProperties();
+        properties.getEvents().setMaxSubscribersPerUser(2);
+        hub = new AccountEventServiceImpl(properties, pendingSends::add);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter third = new RecordingEmitter();
+        hub.register("bo123", first);
+        hub.register("bo123", second);
+        hub.register("bo123", third);
+
+        assertEquals(2, hub.getSubscriberCount());
+        assertTrue(first.completed);
+        hub.onAccountEvent(AccountEvent.deposit("bo123", 10.0, 110.0));
+        runSends();
+        assertTrue(first.frames.isEmpty());
+        assertEquals(1, second.frames.size());
+        assertEquals(1, third.frames.size());
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+        final List<String> frames = new ArrayList<>();
+        boolean fail;
+        boolean completed;
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(this::render)
+                    .collect(Collectors.joining()));
+        }
+
+        private String render(Object data) {
+            if (data instanceof String) {
+                return (String) data;
+            }
+            try {
+                return MAPPER.writeValueAsString(data);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
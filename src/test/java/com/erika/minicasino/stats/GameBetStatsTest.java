@@ -0,0 +1,59 @@
+package com.erika.minicasino.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameBetStatsTest {
+
+    @Test
+    void testSettled_CountsAllTimeAndWindow() {
+        GameBetStats stats = new GameBetStats(60_000, 60);
+
+        stats.placed(1000);
+        stats.placed(500);
+        stats.settled(1_000, 1000, 2000, true);
+
+        GameBetStats.Sample allTime = stats.getAllTime();
+        assertEquals(1, allTime.getBets());
+        assertEquals(1, allTime.getWins());
+        assertEquals(1000, allTime.getTotalBet());
+        assertEquals(2000, allTime.getTotalWon());
+        assertEquals(100.0, allTime.getStakeSquares(), 1e-9);
+        assertEquals(1, stats.getOpenBets());
+        assertEquals(500, stats.getOpenStakes());
+        assertEquals(1, stats.getWindow(1_000).getBets());
+    }
+
+    @Test
+    void testGetWindow_OnlyCountsBetsInsideWindow() {
+        GameBetStats stats = new GameBetStats(60_000, 60);
+
+        stats.settled(1_000, 100, 0, false);
+        stats.settled(30_000, 200, 400, true);
+        stats.settled(59_999, 300, 0, false);
+
+        assertEquals(3, stats.getWindow(59_999).getBets());
+
+        // One minute later the first two seconds have rolled out
+        GameBetStats.Sample later = stats.getWindow(61_000);
+        assertEquals(2, later.getBets());
+        assertEquals(500, later.getTotalBet());
+        assertEquals(1, later.getWins());
+        assertEquals(3, stats.getAllTime().getBets());
+    }
+
+    @Test
+    void testSettled_ReplacesBucketAfterWrapAndDropsStaleBets() {
+        GameBetStats stats = new GameBetStats(10_000, 10);
+
+        stats.settled(500, 100, 0, false);
+        stats.settled(10_500, 7, 0, false);
+        stats.settled(600, 50, 0, false);
+
+        GameBetStats.Sample window = stats.getWindow(10_500);
+        assertEquals(1, window.getBets());
+        assertEquals(7, window.getTotalBet());
+        assertEquals(3, stats.getAllTime().getBets());
+    }
+}
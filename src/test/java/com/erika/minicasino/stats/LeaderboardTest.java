@@ -0,0 +1,83 @@
+package com.erika.minicasino.stats;
+
+import com.erika.minicasino.model.LeaderboardMetric;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTest {
+
+    private static List<String> names(List<Leaderboard.Ranked> ranked) {
+        return ranked.stream().map(Leaderboard.Ranked::getUsername).toList();
+    }
+
+    @Test
+    void testRecord_RanksEachMetricBestFirst() {
+        Leaderboard board = new Leaderboard();
+
+        board.record("ann", 1000, 3000);
+        board.record("bo", 5000, 0);
+        board.record("cy", 2000, 2500);
+
+        assertEquals(List.of("ann", "cy", "bo"), names(board.top(LeaderboardMetric.NET_WINNINGS, 10)));
+        assertEquals(List.of("bo", "cy", "ann"), names(board.top(LeaderboardMetric.TOTAL_WAGERED, 10)));
+        assertEquals(List.of("ann", "cy"), names(board.top(LeaderboardMetric.BIGGEST_WIN, 10)), "no win, no entry");
+        assertEquals(-5000, board.top(LeaderboardMetric.NET_WINNINGS, 10).get(2).getValue());
+        assertEquals(List.of("ann"), names(board.top(LeaderboardMetric.NET_WINNINGS, 1)));
+    }
+
+    @Test
+    void testRecord_MovesPlayerWithoutDuplicating() {
+        Leaderboard board = new Leaderboard();
+        board.record("ann", 1000, 3000);
+        board.record("bo", 1000, 2000);
+
+        board.record("bo", 1000, 4000);
+        board.record("ann", 100, 0);
+
+        List<Leaderboard.Ranked> net = board.top(LeaderboardMetric.NET_WINNINGS, 10);
+        assertEquals(List.of("bo", "ann"), names(net));
+        assertEquals(4000, net.get(0).getValue());
+        assertEquals(1900, net.get(1).getValue());
+        // Biggest win keeps the maximum, not the latest payout
+        assertEquals(3000, board.top(LeaderboardMetric.BIGGEST_WIN, 10).get(1).getValue());
+        assertEquals(2, board.size());
+    }
+
+    @Test
+    void testRecord_BreaksTiesByUsername() {
+        Leaderboard board = new Leaderboard();
+
+        board.record("cy", 1000, 0);
+        board.record("ann", 1000, 0);
+
+        assertEquals(List.of("ann", "cy"), names(board.top(LeaderboardMetric.TOTAL_WAGERED, 10)));
+    }
+
+    @Test
+    void testSeed_OnlyAppliesToPlayersWithoutRecordedBets() {
+        Leaderboard board = new Leaderboard();
+        board.record("ann", 1000, 0);
+
+        board.seed("ann", 90_000, 0);
+        board.seed("bo", 5000, 8000);
+
+        List<Leaderboard.Ranked> wagered = board.top(LeaderboardMetric.TOTAL_WAGERED, 10);
+        assertEquals(List.of("bo", "ann"), names(wagered));
+        assertEquals(1000, wagered.get(1).getValue());
+        assertEquals(3000, board.top(LeaderboardMetric.NET_WINNINGS, 1).get(0).getValue());
+    }
+
+    @Test
+    void testRecord_MergedBetsKeepTheBiggestSingleWin() {
+        Leaderboard board = new Leaderboard();
+        board.record("ann", 3000, 5000, 4000);
+        board.record("ann", 1000, 2000);
+
+        assertEquals(4000, board.top(LeaderboardMetric.BIGGEST_WIN, 1).get(0).getValue());
+        assertEquals(4000, board.top(LeaderboardMetric.TOTAL_WAGERED, 1).get(0).getValue());
+        assertEquals(3000, board.top(LeaderboardMetric.NET_WINNINGS, 1).get(0).getValue());
+    }
+}
@@ -0,0 +1,68 @@
+package com.erika.minicasino.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RollingBetTotalsTest {
+
+    @Test
+    void testSum_OnlyCountsBetsInsideWindow() {
+        RollingBetTotals totals = new RollingBetTotals(60_000, 60);
+
+        totals.record(1_000, 100, 0);
+        totals.record(30_000, 200, 500);
+        totals.record(59_999, 300, 0);
+
+        BetTotals sum = totals.sum(59_999);
+        assertEquals(3, sum.getCount());
+        assertEquals(600, sum.getTotalBet());
+        assertEquals(500, sum.getTotalWon());
+
+        // One minute later the first two seconds have rolled out
+        BetTotals later = totals.sum(61_000);
+        assertEquals(2, later.getCount());
+        assertEquals(500, later.getTotalBet());
+    }
+
+    @Test
+    void testRecord_ReusesBucketAfterWrap() {
+        RollingBetTotals totals = new RollingBetTotals(10_000, 10);
+
+        totals.record(500, 100, 0);
+        totals.record(10_500, 7, 3);
+
+        BetTotals sum = totals.sum(10_500);
+        assertEquals(1, sum.getCount());
+        assertEquals(7, sum.getTotalBet());
+        assertEquals(3, sum.getTotalWon());
+    }
+
+    @Test
+    void testRecord_DropsBetsOlderThanWindow() {
+        RollingBetTotals totals = new RollingBetTotals(10_000, 10);
+
+        totals.record(10_500, 7, 3);
+        totals.record(500, 100, 0);
+
+        assertEquals(1, totals.sum(10_500).getCount());
+    }
+
+    @Test
+    void testUserBetStats_PerGameAndAllTime() {
+        UserBetStats stats = new UserBetStats();
+        long now = System.currentTimeMillis();
+
+        stats.record(1L, 1_000, 2_000, now);
+        stats.record(2L, 500, 0, now);
+        stats.record(1L, 1_000, 0, now);
+
+        assertEquals(3, stats.getAllTime().getCount());
+        assertEquals(2_500, stats.getAllTime().getTotalBet());
+        assertEquals(2, stats.getForGame(1L).getCount());
+        assertEquals(2_000, stats.getForGame(1L).getTotalWon());
+        assertEquals(3, stats.getLastHour(now).getCount());
+        assertEquals(3, stats.getLastDay(now).getCount());
+        assertEquals(0, stats.getForGame(3L).getCount());
+    }
+}
@@ -0,0 +1,74 @@
+package com.erika.minicasino.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BetHistoryStoreTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testRecent_NewestFirst(boolean offHeap) {
+        BetHistoryStore store = new BetHistoryStore(100, offHeap);
+        for (int i = 0; i < 20; i++) {
+            store.append("bo123", i, 100L * i, i % 2 == 0 ? 200L * i : 0, i % 2 == 0, 1_000L + i);
+        }
+
+        assertEquals(20, store.size("bo123"));
+        BetHistoryPage recent = store.recent("bo123", 0, 3);
+        assertEquals(3, recent.size());
+        assertEquals(19L, recent.get(0).getGameId());
+        assertEquals(19.0, recent.get(0).getAmountBet());
+        assertFalse(recent.get(0).isWin());
+        assertEquals(18L, recent.get(1).getGameId());
+        assertEquals(36.0, recent.get(1).getAmountWon());
+        assertTrue(recent.get(1).isWin());
+        assertEquals(1_018L, recent.get(1).getSettledAt());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testAppend_KeepsOnlyRetainedBets(boolean offHeap) {
+        BetHistoryStore store = new BetHistoryStore(50, offHeap);
+        for (int i = 0; i < 130; i++) {
+            store.append("bo123", i, 1, 0, i % 3 == 0, i);
+        }
+
+        assertEquals(50, store.size("bo123"));
+        BetHistoryPage all = store.recent("bo123", 0, 1_000);
+        assertEquals(50, all.size());
+        assertEquals(129L, all.get(0).getGameId());
+        assertEquals(80L, all.get(49).getGameId());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.gameId(i) % 3 == 0, all.win(i));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testRecent_OffsetPastEnd(boolean offHeap) {
+        BetHistoryStore store = new BetHistoryStore(10, offHeap);
+        store.append("bo123", 1, 1, 0, false, 0);
+
+        assertTrue(store.recent("bo123", 5, 10).isEmpty());
+        assertTrue(store.recent("nobody", 0, 10).isEmpty());
+        assertEquals(0, store.size("nobody"));
+    }
+
+    @Test
+    void testRecent_SerializesLikeBetRecords() throws Exception {
+        BetHistoryStore store = new BetHistoryStore(10, false);
+        store.append("bo123", 3, 1050, 2100, true, 1_000L);
+        store.append("bo123", 4, 500, 0, false, 2_000L);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        BetHistoryPage page = store.recent("bo123", 0, 10);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(page.toRecords())),
+                objectMapper.readTree(objectMapper.writeValueAsString(page)));
+        assertEquals("[]", objectMapper.writeValueAsString(store.recent("nobody", 0, 10)));
+    }
+}
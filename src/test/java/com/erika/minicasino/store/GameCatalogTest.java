@@ -0,0 +1,73 @@
+package com.erika.minicasino.store;
+
+import com.erika.minicasino.model.Game;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameCatalogTest {
+    private static Game game(long id) {
+        return new Game(id, "Game " + id, 0.5, 2.0, 1.0, 100.0);
+    }
+
+    @Test
+    void testFind_DenseIds() {
+        GameCatalog catalog = GameCatalog.of(List.of(game(3), game(1), game(2)));
+        assertEquals("Game 2", catalog.find(2).getName());
+        assertNull(catalog.find(0));
+        assertNull(catalog.find(4));
+        assertNull(catalog.find(-1));
+        assertEquals(List.of(1L, 2L, 3L), catalog.getGames().stream().map(Game::getId).toList());
+    }
+
+    @Test
+    void testFind_SparseIds() {
+        List<Game> games = new ArrayList<>();
+        for (long i = 0; i < 1_000; i++) {
+            games.add(game(i * 7_919 + Long.MAX_VALUE / 2));
+        }
+        games.add(game(-5));
+        GameCatalog catalog = GameCatalog.of(games);
+        for (Game game : games) {
+            assertEquals(game, catalog.find(game.getId()));
+        }
+        assertNull(catalog.find(1));
+        assertNull(catalog.find(Long.MAX_VALUE / 2 + 1));
+    }
+
+    @Test
+    void testWith_ReplacesAndLeavesOriginalUntouched() {
+        GameCatalog original = GameCatalog.of(List.of(game(1), game(2)));
+        GameCatalog updated = original.with(new Game(2L, "Replaced", 0.1, 2.0, 1.0, 100.0)).with(game(1_000_000));
+
+        assertEquals("Game 2", original.find(2).getName());
+        assertNull(original.find(1_000_000));
+        assertEquals("Replaced", updated.find(2).getName());
+        assertNotNull(updated.find(1_000_000));
+        assertEquals(3, updated.size());
+    }
+
+    @Test
+    void testFind_EmptyCatalog() {
+        assertNull(GameCatalog.EMPTY.find(0));
+        assertNull(GameCatalog.EMPTY.find(42));
+    }
+
+    @Test
+    void testGames_AreImmutableCopies() {
+        Game original = game(1);
+        GameCatalog catalog = GameCatalog.of(List.of(original));
+
+        original.setWinningMultiplier(50.0);
+
+        Game shared = catalog.find(1);
+        assertEquals(2.0, shared.getWinningMultiplier());
+        assertEquals(original.getName(), shared.getName());
+        assertThrows(UnsupportedOperationException.class, () -> shared.setWinningMultiplier(50.0));
+        assertThrows(UnsupportedOperationException.class, () -> catalog.getGames().get(0).setMaxBet(1.0));
+        assertSame(shared, catalog.with(game(2)).find(1));
+    }
+}
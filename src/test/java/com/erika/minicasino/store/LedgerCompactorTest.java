@@ -0,0 +1,116 @@
+package com.erika.minicasino.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerCompactorTest {
+    @TempDir
+    Path directory;
+
+    private LedgerState recover() throws Exception {
+        LedgerState state = new LedgerState(new BetHistoryStore(100, false));
+        long fromSegment = SnapshotStore.loadLatest(directory, state);
+        Ledger.open(directory, true, 64, fromSegment, state::apply).close();
+        return state;
+    }
+
+    private static LedgerState.Account account(LedgerState state, String username) {
+        return state.getAccounts().stream()
+                .filter(account -> account.getUser().getUsername().equals(username))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void testCompact_SnapshotPlusTailMatchesFullReplay() throws Exception {
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> { })) {
+            LedgerCompactor compactor = new LedgerCompactor(directory, ledger, 100);
+            CompletableFuture.allOf(
+                    ledger.append(LedgerRecord.register("bo123", "Bo", LocalDate.of(2000, 1, 1), 10_000)),
+                    ledger.append(LedgerRecord.reserve(1, "bo123", 4, 1_000)),
+                    ledger.append(LedgerRecord.settle(1, "bo123", 4, 1_000, 2_000, true, 1_000)),
+                    ledger.append(LedgerRecord.reserve(2, "bo123", 4, 500))
+            ).get(10, TimeUnit.SECONDS);
+            long first = compactor.compact();
+
+            CompletableFuture.allOf(
+                    ledger.append(LedgerRecord.register("al456", "Al", LocalDate.of(1990, 6, 1), 0)),
+                    ledger.append(LedgerRecord.deposit("al456", 2_550)),
+                    ledger.append(LedgerRecord.settle(2, "bo123", 4, 500, 0, false, 2_000))
+            ).get(10, TimeUnit.SECONDS);
+            long second = compactor.compact();
+            assertTrue(second > first);
+
+            ledger.append(LedgerRecord.reserve(3, "al456", 4, 50)).get(10, TimeUnit.SECONDS);
+
+            // Only the newest snapshot and the live segment are left
+            assertEquals(List.of(second), SnapshotStore.snapshots(directory));
+            assertEquals(List.of(second), Ledger.segments(directory));
+        }
+
+        LedgerState state = recover();
+        assertEquals(3, state.getLastTicketId());
+        LedgerState.Account bo = account(state, "bo123");
+        assertEquals("Bo", bo.getUser().getName());
+        assertEquals(LocalDate.of(2000, 1, 1), bo.getUser().getBirthdate());
+        assertEquals(100.0, bo.getUser().getBalance());
+        assertEquals(10_500, bo.getAvailable());
+        assertEquals(0, bo.getReserved());
+        assertEquals(2, bo.getUser().getBetStats().getAllTime().getCount());
+        assertEquals(2_000, bo.getUser().getBetStats().getForGame(4).getTotalWon());
+        BetHistoryPage history = state.getBetHistory().recent("bo123", 0, 10);
+        assertEquals(2, history.size());
+        assertEquals(2_000, history.get(0).getSettledAt());
+
+        LedgerState.Account al = account(state, "al456");
+        assertEquals(2_500, al.getAvailable());
+        assertEquals(50, al.getReserved());
+        assertEquals(1, state.getPendingBets().size());
+        LedgerRecord pending = state.getPendingBets().iterator().next();
+        assertEquals(3, pending.getTicketId());
+        assertEquals(4, pending.getGameId());
+    }
+
+    @Test
+    void testCompact_KeepsMultibyteNames() throws Exception {
+        String name = "Zo\u00eb \uD83D\uDE00 " + "\u20ac".repeat(90);
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> { })) {
+            ledger.append(LedgerRecord.register("zo\u00eb", name, LocalDate.of(2000, 1, 1), 10_000)).get(10, TimeUnit.SECONDS);
+            new LedgerCompactor(directory, ledger, 100).compact();
+        }
+
+        assertEquals(name, account(recover(), "zo\u00eb").getUser().getName());
+    }
+
+    @Test
+    void testLoadLatest_RejectsCorruptSnapshot() throws Exception {
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> { })) {
+            ledger.append(LedgerRecord.register("bo123", "Bo", LocalDate.of(2000, 1, 1), 10_000)).get(10, TimeUnit.SECONDS);
+            long segment = new LedgerCompactor(directory, ledger, 100).compact();
+            Path snapshot = SnapshotStore.snapshotFile(directory, segment);
+            byte[] bytes = Files.readAllBytes(snapshot);
+            bytes[bytes.length / 2] ^= 0x5A;
+            Files.write(snapshot, bytes);
+        }
+
+        LedgerState state = new LedgerState(new BetHistoryStore(100, false));
+        assertThrows(IOException.class, () -> SnapshotStore.loadLatest(directory, state));
+    }
+
+    @Test
+    void testLoadLatest_NoSnapshotStartsFromFirstSegment() throws Exception {
+        LedgerState state = new LedgerState(new BetHistoryStore(100, false));
+        assertEquals(0, SnapshotStore.loadLatest(directory, state));
+        assertTrue(state.getAccounts().isEmpty());
+    }
+}
@@ -0,0 +1,27 @@
+package com.erika.minicasino.store;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends numbered deposits until killed, printing the highest number that is known
+ * to be durable. Used by {@link LedgerTest} to kill a real process mid-write.
+ */
+public class LedgerCrashWriter {
+
+    public static void main(String[] args) throws Exception {
+        Ledger ledger = Ledger.open(Path.of(args[0]), true, 256, record -> { });
+        AtomicLong durable = new AtomicLong();
+        for (long i = 1; ; i++) {
+            long amount = i;
+            ledger.append(LedgerRecord.deposit("crash", amount)).thenRun(() -> {
+                if (durable.accumulateAndGet(amount, Math::max) == amount) {
+                    System.out.println(amount);
+                }
+            });
+            if (i % 64 == 0) {
+                Thread.sleep(1);
+            }
+        }
+    }
+}
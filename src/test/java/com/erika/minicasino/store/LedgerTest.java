@@ -0,0 +1,296 @@
+package com.erika.minicasino.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerTest {
+    @TempDir
+    Path directory;
+
+    private List<LedgerRecord> reopen() throws Exception {
+        List<LedgerRecord> replayed = new ArrayList<>();
+        Ledger.open(directory, true, 64, replayed::add).close();
+        return replayed;
+    }
+
+    @Test
+    void testAppend_ReplaysEveryRecordType() throws Exception {
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> fail("ledger should be empty"))) {
+            CompletableFuture.allOf(
+                    ledger.append(LedgerRecord.register("bo123", "Bo", LocalDate.of(2000, 1, 1), 10_000)),
+                    ledger.append(LedgerRecord.deposit("bo123", 500)),
+                    ledger.append(LedgerRecord.reserve(7, "bo123", 4, 1_000)),
+                    ledger.append(LedgerRecord.settle(7, "bo123", 4, 1_000, 2_000, true, 123_456)),
+                    ledger.append(LedgerRecord.release(8, "bo123", 300))
+            ).get(10, TimeUnit.SECONDS);
+        }
+
+        List<LedgerRecord> replayed = reopen();
+        assertEquals(5, replayed.size());
+        LedgerRecord register = replayed.get(0);
+        assertEquals(LedgerRecord.Type.REGISTER, register.getType());
+        assertEquals("Bo", register.getName());
+        assertEquals(LocalDate.of(2000, 1, 1), register.getBirthdate());
+        assertEquals(10_000, register.getAmount());
+        LedgerRecord settle = replayed.get(3);
+        assertEquals(LedgerRecord.Type.SETTLE, settle.getType());
+        assertEquals(7, settle.getTicketId());
+        assertEquals(4, settle.getGameId());
+        assertEquals(2_000, settle.getAmountWon());
+        assertTrue(settle.isWin());
+        assertEquals(123_456, settle.getTimestamp());
+        assertEquals(LedgerRecord.Type.RELEASE, replayed.get(4).getType());
+        assertEquals(300, replayed.get(4).getAmount());
+    }
+
+    @Test
+    void testAppend_RejectsStringsTooLongForTheLengthPrefix() throws Exception {
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> fail("ledger should be empty"))) {
+            CompletableFuture<Void> write = ledger.append(
+                    LedgerRecord.register("bo123", "B".repeat(70_000), LocalDate.of(2000, 1, 1), 0));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> write.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            ledger.append(LedgerRecord.deposit("bo123", 500)).get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of(LedgerRecord.Type.DEPOSIT), reopen().stream().map(LedgerRecord::getType).toList());
+    }
+
+    @Test
+    void testDecode_ReportsOutOfRangeFieldsAsInvalid() {
+        ByteBuffer encoded = ByteBuffer.wrap(LedgerRecord.register("bo123", "Bo", LocalDate.of(2000, 1, 1), 0).encode());
+        // The epoch day follows type, timestamp and the two length-prefixed strings
+        encoded.putLong(1 + 8 + 2 + 5 + 2 + 2, Long.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> LedgerRecord.decode(encoded));
+    }
+
+    @Test
+    void testOpen_TruncatesTornTail() throws Exception {
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> { })) {
+            for (int i = 1; i <= 100; i++) {
+                ledger.append(LedgerRecord.deposit("bo123", i));
+            }
+        }
+        // Simulate a crash halfway through writing the next entry
+        try (FileChannel channel = FileChannel.open(Ledger.segmentFile(directory, 0), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(40).putInt(0xCAFE).putInt(1).flip());
+        }
+
+        List<LedgerRecord> replayed = new ArrayList<>();
+        try (Ledger ledger = Ledger.open(directory, true, 64, replayed::add)) {
+            ledger.append(LedgerRecord.deposit("bo123", 101)).get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(100, replayed.size());
+
+        List<LedgerRecord> afterRecovery = reopen();
+        assertEquals(101, afterRecovery.size());
+        assertEquals(101, afterRecovery.get(100).getAmount());
+    }
+
+    @Test
+    void testOpen_StopsAtCorruptRecord() throws Exception {
+        try (Ledger ledger = Ledger.open(directory, true, 64, record -> { })) {
+            for (int i = 1; i <= 10; i++) {
+                ledger.append(LedgerRecord.deposit("bo123", i));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(Ledger.segmentFile(directory, 0), StandardOpenOption.WRITE)) {
+            // Flip a byte inside the body of the last entry
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), channel.size() - 3);
+        }
+
+        assertEquals(9, reopen().size());
+    }
+
+    @Test
+    void testKilledProcess_LosesNoAcknowledgedEntry() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                LedgerCrashWriter.class.getName(), directory.toString())
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        long acknowledged = 0;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (acknowledged < 2_000 && (line = output.readLine()) != null) {
+                if (line.matches("\\d+")) {
+                    acknowledged = Long.parseLong(line);
+                }
+            }
+            // Kill the writer while it is still appending
+            writer.destroyForcibly();
+            assertTrue(writer.waitFor(30, TimeUnit.SECONDS));
+        }
+        assertTrue(acknowledged >= 2_000, "writer stopped early");
+
+        List<LedgerRecord> replayed = reopen();
+        assertTrue(replayed.size() >= acknowledged,
+                "replayed " + replayed.size() + " entries but " + acknowledged + " were acknowledged");
+        for (int i = 0; i < replayed.size(); i++) {
+            assertEquals(i + 1, replayed.get(i).getAmount());
+        }
+    }
+
+    @Test
+    void testFailedWrite_IsCutOffSoLaterEntriesSurviveReopen() throws Exception {
+        FaultyChannel[] faulty = new FaultyChannel[1];
+        try (Ledger ledger = Ledger.open(directory, true, 64, 0, record -> { },
+                channel -> faulty[0] = new FaultyChannel(channel))) {
+            ledger.append(LedgerRecord.deposit("bo123", 1)).get(10, TimeUnit.SECONDS);
+            // The bytes reach the file, then the sync fails
+            faulty[0].failForces = 1;
+            CompletableFuture<Void> failed = ledger.append(LedgerRecord.deposit("bo123", 2));
+            assertThrows(Exception.class, () -> failed.get(10, TimeUnit.SECONDS));
+            ledger.append(LedgerRecord.deposit("bo123", 3)).get(10, TimeUnit.SECONDS);
+        }
+
+        List<LedgerRecord> replayed = reopen();
+        assertEquals(List.of(1L, 3L), replayed.stream().map(LedgerRecord::getAmount).toList());
+    }
+
+    @Test
+    void testFailedWrite_ThatCannotBeCutOffRejectsFurtherAppends() throws Exception {
+        FaultyChannel[] faulty = new FaultyChannel[1];
+        try (Ledger ledger = Ledger.open(directory, true, 64, 0, record -> { },
+                channel -> faulty[0] = new FaultyChannel(channel))) {
+            ledger.append(LedgerRecord.deposit("bo123", 1)).get(10, TimeUnit.SECONDS);
+            faulty[0].failForces = Integer.MAX_VALUE;
+            faulty[0].failTruncate = true;
+            CompletableFuture<Void> failed = ledger.append(LedgerRecord.deposit("bo123", 2));
+            assertThrows(Exception.class, () -> failed.get(10, TimeUnit.SECONDS));
+
+            faulty[0].failForces = 0;
+            faulty[0].failTruncate = false;
+            CompletableFuture<Void> rejected = ledger.append(LedgerRecord.deposit("bo123", 3));
+            assertThrows(Exception.class, () -> rejected.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /** Delegates to a real channel, failing {@code force} and {@code truncate} on demand. */
+    private static final class FaultyChannel extends FileChannel {
+        private final FileChannel delegate;
+        volatile int failForces;
+        volatile boolean failTruncate;
+
+        FaultyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (failForces > 0) {
+                failForces--;
+                throw new IOException("Simulated sync failure");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Simulated truncate failure");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.erika.minicasino.store;
+
+import com.erika.minicasino.model.CursorPage;
+import com.erika.minicasino.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserRegistryTest {
+
+    private static User user(String username) {
+        return new User("Name", username, LocalDate.of(2000, 1, 1));
+    }
+
+    @Test
+    void testRegister_RejectsDuplicate() {
+        UserRegistry registry = new UserRegistry(4, 16);
+
+        assertTrue(registry.register(user("bo123")));
+        assertFalse(registry.register(user("bo123")));
+        assertEquals(1, registry.size());
+        assertEquals("bo123", registry.get("bo123").getUsername());
+        assertNull(registry.get("missing"));
+    }
+
+    @Test
+    void testPage_WalksRegistrationOrder() {
+        UserRegistry registry = new UserRegistry(4, 16);
+        for (int i = 0; i < 10_000; i++) {
+            registry.register(user("user" + i));
+        }
+
+        List<String> seen = new ArrayList<>();
+        Long cursor = 0L;
+        while (cursor != null) {
+            CursorPage<User> page = registry.page(cursor, 999);
+            page.getItems().forEach(u -> seen.add(u.getUsername()));
+            cursor = page.getNextCursor();
+        }
+
+        assertEquals(10_000, seen.size());
+        assertEquals("user0", seen.get(0));
+        assertEquals("user9999", seen.get(9_999));
+        assertEquals(10_000, registry.stream().count());
+    }
+
+    @Test
+    void testPage_PastTheEnd() {
+        UserRegistry registry = new UserRegistry(4, 16);
+        registry.register(user("bo123"));
+
+        CursorPage<User> page = registry.page(5, 10);
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testPage_NegativeCursorStartsAtTheBeginning() {
+        UserRegistry registry = new UserRegistry(4, 16);
+        registry.register(user("bo123"));
+
+        assertEquals(1, registry.page(-1_500_000_000L, 10).getItems().size());
+        assertEquals(1, registry.page(-3_000_000_000L, 10).getItems().size());
+    }
+
+    @Test
+    void testConcurrentRegistration_ExactlyOneWinnerPerUsername() throws Exception {
+        UserRegistry registry = new UserRegistry(16, 1024);
+        int threads = 8;
+        int usernames = 20_000;
+        AtomicInteger wins = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < usernames; i++) {
+                    if (registry.register(user("user" + i))) {
+                        wins.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(usernames, wins.get());
+        assertEquals(usernames, registry.size());
+        Set<String> streamed = registry.stream().map(User::getUsername).collect(Collectors.toCollection(ConcurrentHashMap::newKeySet));
+        assertEquals(usernames, streamed.size());
+    }
+}